@@ -0,0 +1,74 @@
+package br.com.project.userService.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.project.userService.TesteApplication;
+import br.com.project.userService.cache.RoleDictionary;
+
+/**
+ * Sobe a aplicação (H2 em memória, porta aleatória, sem log de SQL) para os
+ * benchmarks que dependem de repositório e validadores, e popula tenants
+ * diretamente via JDBC.
+ */
+final class BenchmarkContext {
+
+    private static final int INSERT_BATCH = 10_000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(TesteApplication.class);
+        application.setBannerMode(Banner.Mode.OFF);
+        return application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:jmh",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.br.com.project=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN");
+    }
+
+    /**
+     * Insere {@code size} usuários (user0..userN, um role cada) no tenant,
+     * com ids a partir de {@code firstId} para não colidir com a sequence.
+     * O role ROLE_USER ocupa o bit 0 do dicionário do tenant.
+     */
+    static void insertUsers(JdbcTemplate jdbcTemplate, String tenant, int size, long firstId) {
+        jdbcTemplate.update("insert into role_names (id, name, bit, tenant) values (next value for role_names_seq, 'ROLE_USER', 0, ?)",
+                tenant);
+        List<Object[]> users = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < size; i++) {
+            users.add(new Object[] {firstId + i, "user" + i, "user" + i, "hash", 1L, tenant});
+            if (users.size() == INSERT_BATCH || i == size - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into users (id, username, username_normalized, password, role_mask, tenant) values (?, ?, ?, ?, ?, ?)",
+                        users);
+                users.clear();
+            }
+        }
+    }
+
+    /**
+     * O RoleDictionary da aplicação com ROLE_USER no bit 0 e ROLE_ADMIN no
+     * bit 1 do tenant padrão, o das threads do JMH (que não têm tenant no
+     * contexto).
+     */
+    static RoleDictionary roleDictionary(ConfigurableApplicationContext context) {
+        RoleDictionary roleDictionary = context.getBean(RoleDictionary.class);
+        long mask = roleDictionary.encode(List.of("ROLE_USER", "ROLE_ADMIN"));
+        if (mask != 0b11L) {
+            throw new IllegalStateException("Dicionário de roles inesperado: " + Long.toBinaryString(mask));
+        }
+        return roleDictionary;
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.project.userService.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tempo entre o lançamento da JVM e o primeiro {@code GET /userService/users}
+ * com 200, com o jar empacotado pelo build:
+ * <ul>
+ *   <li>default: configuração padrão (ddl update, log de SQL);</li>
+ *   <li>prod: perfil prod (Flyway + validate, sem log de SQL);</li>
+ *   <li>prod-cds: perfil prod com código AOT e arquivo CDS, do jar extraído
+ *       em target/application (exige o profile cds no mesmo build).</li>
+ * </ul>
+ * Ex.: {@code ./mvnw -Pjmh,cds -DskipTests verify -Djmh.args=StartupBenchmark}.
+ * Cada iteração é uma subida; a parada do processo fica fora da medição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+
+    @Param({"default", "prod", "prod-cds"})
+    public String launch;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private List<String> command;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Arrays.stream(System.getProperty("app.jvm.args", "").split("\\s+"))
+                .filter(arg -> !arg.isBlank())
+                .forEach(command::add);
+        switch (launch) {
+            case "default" -> command.addAll(List.of("-jar", jar(TARGET).toString()));
+            case "prod" -> command.addAll(List.of("-Dspring.profiles.active=prod", "-jar", jar(TARGET).toString()));
+            case "prod-cds" -> {
+                Path application = TARGET.resolve("application");
+                Path archive = application.resolve("application.jsa");
+                if (!Files.exists(archive)) {
+                    throw new IllegalStateException("CDS archive not found; build with -Pcds: " + archive);
+                }
+                command.addAll(List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                        "-Dspring.profiles.active=prod", "-jar", jar(application).toString()));
+            }
+            default -> throw new IllegalArgumentException("Unknown launch mode: " + launch);
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> args = new ArrayList<>(command);
+        args.add("--server.port=" + port);
+        process = new ProcessBuilder(args)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/userService/users"))
+                .header("x-tenant", "startup")
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue());
+            }
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (IOException e) {
+                // Porta ainda não aberta
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Path jar(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application jar in " + directory + "; run the package phase"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.project.userService.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import br.com.project.userService.config.HashingProperties;
+import br.com.project.userService.config.UserMetricsProperties;
+import br.com.project.userService.domain.UserEntity;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.factory.UserFactory;
+import br.com.project.userService.metrics.UserMetrics;
+import br.com.project.userService.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Mapeamento DTO <-> entidade do {@link UserFactory}. {@code encoder=bcrypt}
+ * usa o custo de produção; {@code encoder=none} isola o custo do mapeamento
+ * e da passagem pelo pool de hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserFactoryBenchmark {
+
+    @Param({"bcrypt", "none"})
+    public String encoder;
+
+    private ConfigurableApplicationContext context;
+    private ThreadPoolExecutor executor;
+    private UserFactory factory;
+    private UserDTO dto;
+    private UserEntity entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HashingProperties properties = new HashingProperties(10, 1, 64, Duration.ofSeconds(1));
+        PasswordEncoder passwordEncoder = "bcrypt".equals(encoder)
+                ? new BCryptPasswordEncoder(properties.bcryptStrength())
+                : new PlainPasswordEncoder();
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()));
+        context = BenchmarkContext.start();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        factory = new UserFactory(new PasswordHasher(passwordEncoder, executor, properties, registry),
+                new UserMetrics(registry, new UserMetricsProperties(100)), BenchmarkContext.roleDictionary(context));
+
+        dto = new UserDTO();
+        dto.setUsername("Benchmark.User");
+        dto.setPassword("s3cr3t-password");
+        dto.setRoles(List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        entity = new UserEntity();
+        entity.setId(42L);
+        entity.setUsername("Benchmark.User");
+        entity.setUsernameNormalized("benchmark.user");
+        entity.setPassword("hash");
+        entity.setRoleMask(0b11L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public UserEntity createEntityFromDTO() {
+        return factory.createEntityFromDTO(dto);
+    }
+
+    @Benchmark
+    public UserDTO createDTOFromEntity() {
+        return factory.createDTOFromEntity(entity);
+    }
+
+    private static final class PlainPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
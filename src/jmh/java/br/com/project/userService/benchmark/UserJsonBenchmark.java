@@ -0,0 +1,61 @@
+package br.com.project.userService.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.project.userService.dto.UserDTO;
+
+/**
+ * Serialização JSON de listas de {@link UserDTO} com o ObjectMapper
+ * configurado como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserJsonBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<UserDTO> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().defaultViewInclusion(true).build();
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserDTO dto = new UserDTO();
+            dto.setId(i + 1L);
+            dto.setUsername("user" + i);
+            dto.setRoles(List.of("ROLE_USER", "ROLE_ADMIN"));
+            users.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
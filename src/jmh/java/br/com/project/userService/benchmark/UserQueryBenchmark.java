@@ -0,0 +1,91 @@
+package br.com.project.userService.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.project.userService.dto.PageDTO;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.service.UserService;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Listagem de usuários em tenants de tamanhos crescentes: a primeira página
+ * (tamanho máximo), a exportação completa do tenant (findAll antigo, hoje
+ * {@link UserService#forEachUser}) e a busca por prefixo, que não deve
+ * crescer com o tenant. Na busca por um role que nenhum usuário tem, a
+ * leitura do intervalo para em {@link UserService#SEARCH_MAX_SCANNED} linhas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserQueryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tenantSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService service;
+    private String tenant;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        tenant = "jmh-" + tenantSize;
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkContext.insertUsers(jdbcTemplate, tenant, tenantSize, 1_000_000_000L);
+        // Role registrado e sem usuários: o pior caso da busca com role
+        jdbcTemplate.update("insert into role_names (id, name, bit, tenant) values (next value for role_names_seq, 'ROLE_ADMIN', 1, ?)",
+                tenant);
+        service = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageDTO<UserDTO> firstPage() {
+        return TenantContext.callAs(tenant, () -> service.findPage(null, UserService.MAX_PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<UserDTO> searchByPrefix() {
+        return TenantContext.callAs(tenant, () -> service.search("USER12", null, UserService.DEFAULT_SEARCH_SIZE));
+    }
+
+    @Benchmark
+    public List<UserDTO> searchByPrefixAndRole() {
+        return TenantContext.callAs(tenant, () -> service.search("user9", "ROLE_USER", UserService.DEFAULT_SEARCH_SIZE));
+    }
+
+    @Benchmark
+    public List<UserDTO> searchByPrefixAndRareRole() {
+        return TenantContext.callAs(tenant, () -> service.search("user", "ROLE_ADMIN", UserService.DEFAULT_SEARCH_SIZE));
+    }
+
+    @Benchmark
+    public void findAll(Blackhole blackhole) {
+        TenantContext.runAs(tenant, () -> service.forEachUser(blackhole::consume));
+    }
+}
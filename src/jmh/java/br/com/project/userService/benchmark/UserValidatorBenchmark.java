@@ -0,0 +1,100 @@
+package br.com.project.userService.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import br.com.project.userService.common.View;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.tenant.TenantContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Validação de criação e de atualização ({@code UserCreateImpl} /
+ * {@code UserUpdateImpl}) contra o H2 em memória. {@code username=new} é
+ * descartado pelo índice de usernames sem consulta; {@code existing} vai ao
+ * banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserValidatorBenchmark {
+
+    private static final String TENANT = "jmh-validator";
+    private static final int TENANT_SIZE = 10_000;
+
+    @Param({"new", "existing"})
+    public String username;
+
+    private ConfigurableApplicationContext context;
+    private Validator validator;
+    private UserDTO createDto;
+    private UserDTO updateDto;
+    private ServletRequestAttributes updateRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.insertUsers(context.getBean(JdbcTemplate.class), TENANT, TENANT_SIZE, 1_000_000_000L);
+        validator = context.getBean(Validator.class);
+
+        String name = "new".equals(username) ? "someone-else" : "User" + (TENANT_SIZE / 2);
+        createDto = dto(0L, name);
+        updateDto = dto(1_000_000_001L, name);
+
+        // UserUpdateImpl lê o id da URI (PUT /{id}) da requisição corrente
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/1000000001");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "1000000001"));
+        updateRequest = new ServletRequestAttributes(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDTO>> validateCreate() {
+        return TenantContext.callAs(TENANT, () -> validator.validate(createDto, View.Create.class));
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDTO>> validateUpdate() {
+        RequestContextHolder.setRequestAttributes(updateRequest);
+        return TenantContext.callAs(TENANT, () -> validator.validate(updateDto, View.Update.class));
+    }
+
+    private static UserDTO dto(long id, String username) {
+        UserDTO dto = new UserDTO();
+        dto.setId(id);
+        dto.setUsername(username);
+        dto.setPassword("s3cr3t-password");
+        dto.setRoles(List.of("ROLE_USER"));
+        return dto;
+    }
+}
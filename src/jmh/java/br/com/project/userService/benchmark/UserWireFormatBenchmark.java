@@ -0,0 +1,161 @@
+package br.com.project.userService.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.project.userService.cache.RoleDictionary;
+import br.com.project.userService.config.UserMetricsProperties;
+import br.com.project.userService.domain.UserEntity;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.factory.UserDTOWriter;
+import br.com.project.userService.factory.UserFactory;
+import br.com.project.userService.metrics.UserMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Uma página de {@code size} usuários (dois roles cada) em JSON, CBOR e
+ * Smile. {@code dtoList} é o caminho atual (entidade -> UserDTO -> lista ->
+ * ObjectMapper); {@code direct} escreve as entidades direto no generator
+ * com o {@link UserDTOWriter}. Os bytes por usuário de cada formato saem
+ * como métrica secundária {@code bytesPerUser} (no jmh-result.json, ao lado
+ * do tempo); alocação por usuário sai de {@code -prof gc}
+ * (gc.alloc.rate.norm / size).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private UserFactory factory;
+    private UserDTOWriter writer;
+    private List<UserEntity> rows;
+    private final CountingOutputStream out = new CountingOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        objectMapper = builder.defaultViewInclusion(true).build();
+
+        context = BenchmarkContext.start();
+        RoleDictionary roleDictionary = BenchmarkContext.roleDictionary(context);
+        // O hasher não participa do mapeamento entidade -> DTO
+        factory = new UserFactory(null, new UserMetrics(new SimpleMeterRegistry(), new UserMetricsProperties(100)),
+                roleDictionary);
+        writer = new UserDTOWriter(roleDictionary);
+
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserEntity entity = new UserEntity();
+            entity.setId(i + 1L);
+            entity.setUsername("user" + i);
+            entity.setPassword("$2a$10$abcdefghijklmnopqrstuvABCDEFGHIJKLMNOPQRSTUVWXYZ01234");
+            entity.setRoleMask(0b11L);
+            entity.setVersion(1L);
+            rows.add(entity);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long dtoList(WireSize wireSize) throws IOException {
+        List<UserDTO> dtos = new ArrayList<>(rows.size());
+        for (UserEntity entity : rows) {
+            dtos.add(factory.createDTOFromEntity(entity));
+        }
+        objectMapper.writeValue(out, dtos);
+        return wireSize.record(out.reset(), size);
+    }
+
+    @Benchmark
+    public long direct(WireSize wireSize) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray(rows, rows.size());
+            for (UserEntity entity : rows) {
+                writer.write(entity, generator);
+            }
+            generator.writeEndArray();
+        }
+        return wireSize.record(out.reset(), size);
+    }
+
+    /**
+     * Tamanho da página escrita, reportado pelo JMH como métrica secundária.
+     * EVENTS reporta o valor do campo (somado entre threads): com a thread
+     * única padrão é o tamanho exato de cada operação.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        public double bytesPerUser;
+
+        long record(long bytes, int users) {
+            bytesPerUser = (double) bytes / users;
+            return bytes;
+        }
+    }
+
+    // Descarta os bytes e só conta: o buffer da resposta não entra na alocação medida
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        long reset() {
+            long written = count;
+            count = 0;
+            return written;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.project.userService.audit;
+
+import java.time.Instant;
+
+/**
+ * Alteração de um usuário registrada no log de auditoria.
+ */
+public record AuditEvent(Instant timestamp, String tenant, long userId, Operation operation) {
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,231 @@
+package br.com.project.userService.audit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.project.userService.config.AuditProperties;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Log de auditoria das alterações de usuário, fora do caminho da requisição.
+ *
+ * O {@code UserService} apenas coloca o evento num ring buffer sem locks
+ * (após o commit, quando há transação); uma única thread grava os eventos
+ * em lotes nos segmentos mapeados em memória ({@link AuditSegments}) e faz
+ * fsync a cada {@code fsync-interval}. Com o buffer cheio vale a política
+ * {@code overflow}. Métricas: {@code user.audit.buffer.depth} e
+ * {@code user.audit.dropped}.
+ *
+ * Para depois do servidor web, para que as requisições drenadas pelo
+ * graceful shutdown ainda tenham seus eventos gravados; o que chega depois
+ * de {@link #stop()} é contado como descartado.
+ */
+@Slf4j
+@Component
+public class AuditLog implements SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = Duration.ofMillis(5).toNanos();
+    private static final long FULL_PARK_NANOS = 100_000;
+    // Abaixo do graceful shutdown (DEFAULT_PHASE - 1024) e da parada do
+    // servidor web (DEFAULT_PHASE - 2048): sobe antes e para depois deles
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final AuditProperties properties;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final AuditSegments segments;
+    private final Counter dropped;
+    private final AtomicLong overflowed = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile Thread writer;
+
+    public AuditLog(AuditProperties properties, TenantIdentifierResolver tenantIdentifierResolver, MeterRegistry registry) {
+        this.properties = properties;
+        this.tenantIdentifierResolver = tenantIdentifierResolver;
+        this.buffer = new AuditRingBuffer<>(properties.bufferSize());
+        this.segments = new AuditSegments(properties.directory(), Math.toIntExact(properties.segmentSize().toBytes()),
+                properties.maxSegments());
+        Gauge.builder("user.audit.buffer.depth", buffer, AuditRingBuffer::size)
+                .description("Eventos de auditoria aguardando a gravação")
+                .register(registry);
+        this.dropped = Counter.builder("user.audit.dropped")
+                .description("Eventos de auditoria descartados (buffer cheio ou após a parada)")
+                .tag("policy", properties.overflow().name().toLowerCase(Locale.ROOT))
+                .register(registry);
+    }
+
+    public void created(Collection<Long> userIds) {
+        record(AuditEvent.Operation.CREATE, userIds);
+    }
+
+    public void created(long userId) {
+        record(AuditEvent.Operation.CREATE, List.of(userId));
+    }
+
+    public void updated(Collection<Long> userIds) {
+        record(AuditEvent.Operation.UPDATE, userIds);
+    }
+
+    public void updated(long userId) {
+        record(AuditEvent.Operation.UPDATE, List.of(userId));
+    }
+
+    public void deleted(long userId) {
+        record(AuditEvent.Operation.DELETE, List.of(userId));
+    }
+
+    /**
+     * Eventos do tenant com timestamp em [from, to), na ordem de gravação.
+     * Os eventos ainda no buffer não aparecem.
+     */
+    public List<AuditEvent> scan(String tenant, Instant from, Instant to) {
+        return segments.scan(tenant, from, to);
+    }
+
+    /**
+     * Registra os eventos com o tenant e o instante correntes; dentro de uma
+     * transação, só depois do commit.
+     */
+    private void record(AuditEvent.Operation operation, Collection<Long> userIds) {
+        if (!properties.enabled()) {
+            return;
+        }
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        Instant now = Instant.now();
+        List<AuditEvent> events = userIds.stream().map(id -> new AuditEvent(now, tenant, id, operation)).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(AuditLog.this::enqueue);
+                }
+            });
+        } else {
+            events.forEach(this::enqueue);
+        }
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (stopped) {
+            dropped.increment();
+            return;
+        }
+        if (buffer.offer(event)) {
+            return;
+        }
+        boolean wait = switch (properties.overflow()) {
+            case BLOCK -> true;
+            case DROP -> false;
+            case SAMPLE -> overflowed.getAndIncrement() % properties.sampleRate() == 0;
+        };
+        if (!wait) {
+            dropped.increment();
+            return;
+        }
+        while (!buffer.offer(event)) {
+            if (!running) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+    }
+
+    private void loop() {
+        List<AuditEvent> batch = new ArrayList<>(properties.batchSize());
+        long fsyncNanos = properties.fsyncInterval().toNanos();
+        long lastSync = System.nanoTime();
+        while (running || buffer.size() > 0) {
+            try {
+                if (buffer.drainTo(batch, properties.batchSize()) > 0) {
+                    segments.append(batch);
+                    batch.clear();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                if (System.nanoTime() - lastSync >= fsyncNanos) {
+                    segments.force();
+                    lastSync = System.nanoTime();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Falha ao gravar {} eventos de auditoria", batch.size(), e);
+                dropped.increment(batch.size());
+                batch.clear();
+            }
+        }
+        try {
+            segments.close();
+        } catch (IOException e) {
+            log.error("Falha ao fechar o segmento de auditoria", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        stopped = false;
+        running = true;
+        writer = Thread.ofPlatform().daemon().name("audit-writer").start(this::loop);
+    }
+
+    /**
+     * Grava o que ainda está no buffer antes de parar. Um evento que entrou
+     * no buffer depois da última leitura do escritor é contado como
+     * descartado.
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            try {
+                current.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!current.isAlive()) {
+                // O escritor terminou: esta thread é o único consumidor agora
+                List<AuditEvent> lost = new ArrayList<>();
+                buffer.drainTo(lost, buffer.capacity());
+                if (!lost.isEmpty()) {
+                    log.warn("{} eventos de auditoria chegaram após o fim da gravação", lost.size());
+                    dropped.increment(lost.size());
+                }
+            }
+        }
+    }
+
+    // Desligado, nenhum evento é registrado: a thread de escrita nem sobe
+    @Override
+    public boolean isAutoStartup() {
+        return properties.enabled();
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.project.userService.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer limitado, sem locks, com vários produtores e um único
+ * consumidor. Cada posição tem um número de sequência que diz se ela está
+ * livre para o produtor da volta corrente ou preenchida para o consumidor;
+ * os produtores disputam apenas o CAS do final da fila.
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Escrito apenas pelo consumidor
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false se o buffer está cheio.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff < 0) {
+                return false;
+            }
+            if (diff == 0 && tail.compareAndSet(position, position + 1)) {
+                slots.lazySet(index, element);
+                sequences.lazySet(index, position + 1);
+                return true;
+            }
+            // Outro produtor ocupou a posição: tenta a próxima
+        }
+    }
+
+    /**
+     * Move até {@code max} elementos para {@code target}; só o consumidor chama.
+     *
+     * @return quantos elementos foram movidos.
+     */
+    int drainTo(List<E> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.lazySet(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
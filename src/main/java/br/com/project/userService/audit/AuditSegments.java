@@ -0,0 +1,199 @@
+package br.com.project.userService.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Segmentos do log de auditoria: arquivos de tamanho fixo mapeados em
+ * memória, escritos por uma única thread.
+ *
+ * Formato: cabeçalho com o menor e o maior timestamp do segmento (para a
+ * leitura pular segmentos fora do intervalo) e, em seguida, registros
+ * {@code [tamanho][timestamp][userId][operação][tenant]}. O tamanho é
+ * gravado por último e um tamanho 0 marca o fim dos dados. Um registro que
+ * não cabe fecha o segmento e abre o próximo; acima de {@code maxSegments}
+ * o mais antigo é apagado.
+ */
+@Slf4j
+final class AuditSegments {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    private static final int HEADER_SIZE = 16;
+    // timestamp + userId + operação + tamanho do tenant
+    private static final int FIXED_RECORD_SIZE = Long.BYTES + Long.BYTES + Byte.BYTES + Short.BYTES;
+    private static final AuditEvent.Operation[] OPERATIONS = AuditEvent.Operation.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long minTimestamp;
+    private long maxTimestamp;
+    private boolean dirty;
+
+    // Segmento corrente e até onde os registros estão completos, para leitura concorrente
+    private volatile Active active;
+
+    AuditSegments(Path directory, int segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+    }
+
+    void append(List<AuditEvent> events) throws IOException {
+        for (AuditEvent event : events) {
+            byte[] tenant = event.tenant().getBytes(StandardCharsets.UTF_8);
+            int length = FIXED_RECORD_SIZE + tenant.length;
+            if (buffer == null || buffer.remaining() < Integer.BYTES + length + Integer.BYTES) {
+                rotate();
+            }
+            long timestamp = event.timestamp().toEpochMilli();
+            int position = buffer.position();
+            buffer.position(position + Integer.BYTES);
+            buffer.putLong(timestamp)
+                    .putLong(event.userId())
+                    .put((byte) event.operation().ordinal())
+                    .putShort((short) tenant.length)
+                    .put(tenant);
+            buffer.putInt(position, length);
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+        writeHeader();
+        dirty = true;
+        active = new Active(active.path(), buffer.position());
+    }
+
+    private void writeHeader() {
+        buffer.putLong(0, minTimestamp).putLong(Long.BYTES, maxTimestamp);
+    }
+
+    void force() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            writeHeader();
+            force();
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.createDirectories(directory);
+        Path path = nextPath();
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.position(HEADER_SIZE);
+        minTimestamp = Long.MAX_VALUE;
+        maxTimestamp = Long.MIN_VALUE;
+        active = new Active(path, HEADER_SIZE);
+        deleteOldSegments();
+    }
+
+    // Nome ordenável pelo instante de criação
+    private Path nextPath() {
+        long stamp = System.currentTimeMillis();
+        Path path;
+        do {
+            path = directory.resolve(PREFIX + String.format("%020d", stamp++) + SUFFIX);
+        } while (Files.exists(path));
+        return path;
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = list(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+            log.info("Segmento de auditoria {} removido pela retenção", segments.get(i).getFileName());
+        }
+    }
+
+    /**
+     * Eventos do tenant com timestamp em [from, to), na ordem de gravação.
+     * Só enxerga o que a thread de escrita já gravou.
+     */
+    List<AuditEvent> scan(String tenant, Instant from, Instant to) {
+        byte[] wanted = tenant.getBytes(StandardCharsets.UTF_8);
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        Active current = active;
+        List<AuditEvent> events = new ArrayList<>();
+        try {
+            for (Path segment : list(directory)) {
+                long limit = current != null && segment.equals(current.path()) ? current.committed() : Long.MAX_VALUE;
+                try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ)) {
+                    scanSegment(file.map(FileChannel.MapMode.READ_ONLY, 0, file.size()), limit, wanted, fromMillis, toMillis, events);
+                } catch (NoSuchFileException e) {
+                    // Removido pela retenção durante a leitura
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return events;
+    }
+
+    private static void scanSegment(MappedByteBuffer data, long limit, byte[] tenant, long from, long to, List<AuditEvent> events) {
+        if (data.capacity() < HEADER_SIZE || data.getLong(0) >= to || data.getLong(Long.BYTES) < from) {
+            return;
+        }
+        int end = (int) Math.min(limit, data.capacity());
+        int position = HEADER_SIZE;
+        while (position + Integer.BYTES <= end) {
+            int length = data.getInt(position);
+            if (length <= 0 || position + Integer.BYTES + length > end) {
+                break;
+            }
+            int record = position + Integer.BYTES;
+            long timestamp = data.getLong(record);
+            int tenantLength = data.getShort(record + 17);
+            if (timestamp >= from && timestamp < to && tenantLength == tenant.length
+                    && data.slice(record + FIXED_RECORD_SIZE, tenantLength).equals(ByteBuffer.wrap(tenant))) {
+                events.add(new AuditEvent(Instant.ofEpochMilli(timestamp), new String(tenant, StandardCharsets.UTF_8),
+                        data.getLong(record + 8), OPERATIONS[data.get(record + 16)]));
+            }
+            position = record + length;
+        }
+    }
+
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private record Active(Path path, long committed) {
+    }
+}
@@ -0,0 +1,270 @@
+package br.com.project.userService.cache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.project.userService.config.RoleDictionaryProperties;
+import br.com.project.userService.domain.RoleName;
+import br.com.project.userService.exception.RoleLimitExceededException;
+import br.com.project.userService.repository.RoleNameRepository;
+import br.com.project.userService.repository.UserRepository;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dicionário de roles por tenant, em memória, usado para codificar os
+ * roles de um usuário em um único BIGINT ({@code USERS.role_mask}): o bit
+ * {@code n} ligado significa o role registrado na posição {@code n}.
+ *
+ * Um dicionário em cache pode estar incompleto (roles registrados por outra
+ * instância): um bit desconhecido ou um nome novo recarregam o tenant do
+ * banco, e o cache expira após {@code ttl}. O limite é de {@link #MAX_ROLES}
+ * roles por tenant (na migração, as atribuições dos roles excedentes de um
+ * tenant vão para {@code USER_ROLES_OVERFLOW}). Ao atingi-lo, os roles sem nenhum usuário são
+ * aposentados e seus bits voltam a ser usados depois de
+ * {@code reclaim-after}; um role aposentado que volta a ser usado antes
+ * disso é reativado no mesmo bit.
+ */
+@Slf4j
+@Component
+public class RoleDictionary {
+
+    public static final int MAX_ROLES = Long.SIZE;
+    private static final int REGISTER_ATTEMPTS = 3;
+
+    private final RoleNameRepository repository;
+    private final UserRepository userRepository;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final TransactionTemplate registerTransaction;
+    private final RoleDictionaryProperties properties;
+
+    private final Cache<String, Roles> tenants;
+
+    public RoleDictionary(RoleNameRepository repository, UserRepository userRepository,
+            TenantIdentifierResolver tenantIdentifierResolver, PlatformTransactionManager transactionManager,
+            RoleDictionaryProperties properties) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.tenantIdentifierResolver = tenantIdentifierResolver;
+        this.properties = properties;
+        // O registro sobrevive a um rollback da gravação do usuário: um role
+        // sobrando no dicionário não muda o significado de nenhum bit. Quem
+        // codifica roles deve fazê-lo antes de abrir a própria transação,
+        // para não segurar duas conexões do pool.
+        this.registerTransaction = new TransactionTemplate(transactionManager);
+        this.registerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tenants = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    /**
+     * Codifica os roles no tenant corrente, registrando os nomes ainda
+     * desconhecidos. Repetições e a ordem da lista não são preservadas.
+     *
+     * @throws RoleLimitExceededException se o tenant já tem {@link #MAX_ROLES}
+     *         roles e nenhum bit pode ser reaproveitado ainda.
+     */
+    public long encode(Collection<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return 0L;
+        }
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        Roles dictionary = roles(tenant);
+        long mask = 0L;
+        for (String role : roles) {
+            int bit = dictionary.bitOf(role);
+            if (bit < 0) {
+                dictionary = register(tenant, role);
+                bit = dictionary.bitOf(role);
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * A máscara não guarda a ordem nem repetições da lista gravada: as
+     * respostas trazem os roles sempre na ordem dos bits, sem duplicatas.
+     *
+     * @return os roles do tenant corrente representados na máscara, na ordem dos bits.
+     */
+    public List<String> decode(long mask) {
+        if (mask == 0L) {
+            return new ArrayList<>();
+        }
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        Roles dictionary = roles(tenant);
+        if ((mask & ~dictionary.active()) != 0L) {
+            dictionary = reload(tenant);
+        }
+        return dictionary.decode(mask);
+    }
+
+    /**
+     * Nomes dos roles do tenant corrente indexados pelo bit, cobrindo todos
+     * os bits da máscara. O array é compartilhado e não deve ser alterado;
+     * serve para serializar os roles sem montar uma lista por usuário.
+     */
+    public String[] namesCovering(long mask) {
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        Roles dictionary = roles(tenant);
+        if ((mask & ~dictionary.active()) != 0L) {
+            dictionary = reload(tenant);
+        }
+        return dictionary.names();
+    }
+
+    /**
+     * Máscara de um único role, para consultas "usuários com o role X".
+     *
+     * @return 0 se o role não existe no tenant corrente (nenhum usuário o tem).
+     */
+    public long maskOf(String role) {
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        int bit = roles(tenant).bitOf(role);
+        if (bit < 0) {
+            bit = reload(tenant).bitOf(role);
+        }
+        return bit < 0 ? 0L : 1L << bit;
+    }
+
+    private Roles roles(String tenant) {
+        Roles cached = tenants.getIfPresent(tenant);
+        return cached != null ? cached : reload(tenant);
+    }
+
+    private Roles reload(String tenant) {
+        Roles loaded = Roles.of(repository.findAllByOrderByBitAsc());
+        tenants.put(tenant, loaded);
+        return loaded;
+    }
+
+    private Roles register(String tenant, String role) {
+        for (int attempt = 1; attempt <= REGISTER_ATTEMPTS; attempt++) {
+            try {
+                Roles registered = registerTransaction.execute(status -> {
+                    List<RoleName> entries = repository.findAllByOrderByBitAsc();
+                    for (RoleName entry : entries) {
+                        if (entry.getName().equals(role)) {
+                            // Aposentado mas ainda na quarentena: volta a valer no mesmo bit
+                            entry.setRetiredAt(null);
+                            repository.flush();
+                            return Roles.of(entries);
+                        }
+                    }
+                    int bit = freeBit(entries);
+                    if (bit < 0) {
+                        bit = reclaim(tenant, entries);
+                    }
+                    if (bit < 0) {
+                        // As aposentadorias feitas agora são confirmadas mesmo assim
+                        return null;
+                    }
+                    repository.saveAndFlush(new RoleName(role, bit));
+                    return Roles.of(repository.findAllByOrderByBitAsc());
+                });
+                if (registered == null) {
+                    reload(tenant);
+                    throw new RoleLimitExceededException(MAX_ROLES);
+                }
+                tenants.put(tenant, registered);
+                return registered;
+            } catch (DataIntegrityViolationException e) {
+                // Outra instância registrou um role ao mesmo tempo (mesmo nome ou mesmo bit)
+                log.debug("Conflito ao registrar o role {} no tenant {} (tentativa {})", role, tenant, attempt);
+            }
+        }
+        Roles current = reload(tenant);
+        if (current.bitOf(role) < 0) {
+            throw new IllegalStateException("Could not register role " + role);
+        }
+        return current;
+    }
+
+    private static int freeBit(List<RoleName> entries) {
+        long taken = 0L;
+        for (RoleName entry : entries) {
+            taken |= 1L << entry.getBit();
+        }
+        return taken == -1L ? -1 : Long.numberOfTrailingZeros(~taken);
+    }
+
+    /**
+     * Com o dicionário cheio: aposenta os roles sem usuários, reativa os
+     * aposentados que voltaram a ser usados e remove os aposentados há mais
+     * de {@code reclaim-after}. Roda dentro da transação do registro.
+     *
+     * @return o menor bit liberado, ou -1 se nenhum pode ser reaproveitado ainda.
+     */
+    private int reclaim(String tenant, List<RoleName> entries) {
+        long used = userRepository.findUsedRoleBits(tenant);
+        Instant now = Instant.now();
+        Instant retiredBefore = now.minus(properties.reclaimAfter());
+        int freed = -1;
+        for (RoleName entry : entries) {
+            boolean inUse = (used & (1L << entry.getBit())) != 0L;
+            if (inUse) {
+                entry.setRetiredAt(null);
+            } else if (entry.getRetiredAt() == null) {
+                entry.setRetiredAt(now);
+            } else if (entry.getRetiredAt().isBefore(retiredBefore)) {
+                repository.delete(entry);
+                freed = freed < 0 ? entry.getBit() : Math.min(freed, entry.getBit());
+            }
+        }
+        // Remoções antes do INSERT que reutiliza o bit (UK_ROLE_002)
+        repository.flush();
+        if (freed >= 0) {
+            log.info("Bits de roles sem uso reaproveitados no tenant {}", tenant);
+        }
+        return freed;
+    }
+
+    // Dicionário imutável de um tenant: substituído por inteiro a cada recarga.
+    // names inclui os aposentados (para decodificar); bits e active, só os em uso.
+    private record Roles(String[] names, Map<String, Integer> bits, long active) {
+
+        static Roles of(List<RoleName> entries) {
+            String[] names = new String[entries.isEmpty() ? 0 : entries.getLast().getBit() + 1];
+            Map<String, Integer> bits = new HashMap<>();
+            long active = 0L;
+            for (RoleName entry : entries) {
+                names[entry.getBit()] = entry.getName();
+                if (entry.getRetiredAt() == null) {
+                    bits.put(entry.getName(), entry.getBit());
+                    active |= 1L << entry.getBit();
+                }
+            }
+            return new Roles(names, bits, active);
+        }
+
+        int bitOf(String role) {
+            return bits.getOrDefault(role, -1);
+        }
+
+        List<String> decode(long mask) {
+            List<String> roles = new ArrayList<>(Long.bitCount(mask));
+            for (long remaining = mask; remaining != 0L; remaining &= remaining - 1) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                if (bit < names.length && names[bit] != null) {
+                    roles.add(names[bit]);
+                }
+            }
+            return roles;
+        }
+    }
+}
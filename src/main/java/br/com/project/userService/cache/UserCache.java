@@ -0,0 +1,93 @@
+package br.com.project.userService.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.project.userService.config.UserCacheProperties;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache read-through dos DTOs devolvidos por {@code GET /users/{id}}.
+ *
+ * A chave é (tenant, id), então um tenant nunca recebe a entrada de outro.
+ * Os DTOs já vêm sem senha da {@code UserFactory} e são compartilhados entre
+ * requisições: quem os recebe não deve alterá-los. As métricas (cache.gets,
+ * cache.evictions, cache.size...) ficam no actuator com o nome "users.byId".
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Key, UserDTO> cache;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+
+    public UserCache(UserCacheProperties properties, TenantIdentifierResolver tenantIdentifierResolver, MeterRegistry registry) {
+        this.tenantIdentifierResolver = tenantIdentifierResolver;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "users.byId");
+    }
+
+    public UserDTO get(long id, Supplier<UserDTO> loader) {
+        return cache.get(key(id), k -> loader.get());
+    }
+
+    public UserDTO getIfPresent(long id) {
+        return cache.getIfPresent(key(id));
+    }
+
+    /**
+     * Remove a entrada do tenant corrente. Dentro de uma transação remove de
+     * novo após o término, para descartar uma leitura concorrente que tenha
+     * carregado o valor antigo antes do commit.
+     */
+    public void evict(long id) {
+        Key key = key(id);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Versão em lote de {@link #evict(long)}, para alterações em massa.
+     */
+    public void evictAll(Collection<Long> ids) {
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        List<Key> keys = ids.stream().map(id -> new Key(tenant, id)).toList();
+        cache.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(keys);
+                }
+            });
+        }
+    }
+
+    private Key key(long id) {
+        return new Key(tenantIdentifierResolver.resolveCurrentTenantIdentifier(), id);
+    }
+
+    private record Key(String tenant, long id) {
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.project.userService.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.project.userService.common.Usernames;
+import br.com.project.userService.config.UsernameIndexProperties;
+import br.com.project.userService.repository.UserRepository;
+import br.com.project.userService.tenant.TenantContext;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice em memória, por tenant, dos usernames (normalizados) existentes.
+ *
+ * Fica na frente da consulta de unicidade dos validadores: se o filtro diz
+ * que o nome certamente não existe, a consulta é evitada; se diz "talvez",
+ * o validador segue para o banco. A primeira consulta do tenant dispara a
+ * montagem do índice numa thread virtual e segue pelo banco até ele ficar
+ * pronto; depois o índice é alimentado pelas gravações do {@code UserService}.
+ * Gravações feitas por outras instâncias não aparecem aqui, por isso a
+ * constraint única do banco continua sendo a verificação final.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsernameIndex {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final UserRepository repository;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final UsernameIndexProperties properties;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @return falso apenas quando o username certamente não existe no tenant corrente.
+     */
+    public boolean mightExist(String username) {
+        if (!properties.enabled() || username == null) {
+            return true;
+        }
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        Entry entry = entries.get(tenant);
+        if (entry == null) {
+            Entry created = new Entry();
+            if (entries.putIfAbsent(tenant, created) == null) {
+                Thread.ofVirtual().name("username-index-" + tenant).start(TenantContext.wrap(() -> load(tenant, created)));
+            }
+            return true;
+        }
+        return !entry.ready || entry.filter.mightContain(Usernames.normalize(username));
+    }
+
+    /**
+     * Registra um username gravado no tenant corrente. Dentro de uma
+     * transação o registro fica para depois do commit, como a remoção do
+     * {@link UserCache}: num rollback o filtro não guarda um nome que não
+     * foi gravado.
+     */
+    public void add(String username) {
+        if (!properties.enabled() || username == null) {
+            return;
+        }
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(tenant, username);
+                }
+            });
+        } else {
+            add(tenant, username);
+        }
+    }
+
+    private void add(String tenant, String username) {
+        Entry entry = entries.get(tenant);
+        BloomFilter filter = entry == null ? null : entry.filter;
+        if (filter == null) {
+            // Ainda não carregado: a carga lerá o registro do banco
+            return;
+        }
+        filter.put(Usernames.normalize(username));
+        if (entry.count.incrementAndGet() > filter.capacity()) {
+            // Acima da capacidade a taxa de falsos positivos sobe: descarta e
+            // deixa a próxima validação reconstruir o filtro maior.
+            entries.remove(tenant, entry);
+        }
+    }
+
+    /**
+     * Monta o filtro do tenant. O filtro é publicado antes da primeira
+     * leitura, então um username gravado durante a carga entra pelo
+     * {@link #add(String)} ou pela própria leitura. Em caso de falha a
+     * entrada é removida e a próxima validação tenta de novo.
+     */
+    private void load(String tenant, Entry entry) {
+        try {
+            entry.filter = new BloomFilter(Math.max(properties.minCapacity(), repository.count() * 2),
+                    properties.falsePositiveRate());
+            long afterId = 0L;
+            long loaded = 0L;
+            List<Object[]> batch;
+            do {
+                batch = repository.findNormalizedUsernamesAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    entry.filter.put((String) row[1]);
+                }
+                if (!batch.isEmpty()) {
+                    afterId = (Long) batch.getLast()[0];
+                }
+                loaded += batch.size();
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            entry.count.addAndGet(loaded);
+            entry.ready = true;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar o índice de usernames; validações seguem pelo banco", e);
+            entries.remove(tenant, entry);
+        }
+    }
+
+    private static final class Entry {
+        private final AtomicLong count = new AtomicLong();
+        private volatile BloomFilter filter;
+        private volatile boolean ready;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.project.userService.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.project.userService.exception.InvalidCursorException;
+
+/**
+ * Token opaco de continuação usado na paginação por keyset.
+ *
+ * O cliente recebe apenas uma string Base64 (url-safe); internamente ela
+ * carrega o último id entregue, de modo que a próxima página é buscada com
+ * "id > ultimoId" sobre a chave primária, sem OFFSET.
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "v1:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @param cursor token recebido do cliente (pode ser nulo ou vazio para a primeira página).
+     * @return o último id já entregue, ou 0 quando não houver cursor.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException();
+            }
+            long lastId = Long.parseLong(raw.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new InvalidCursorException();
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.project.userService.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import br.com.project.userService.exception.InvalidCursorException;
+
+/**
+ * Posição de um cliente na sincronização incremental (GET /changes).
+ *
+ * As alterações são percorridas na ordem (instante da alteração, id); o
+ * watermark guarda a última posição entregue. Para o cliente é apenas uma
+ * string Base64 (url-safe), como o {@link PageCursor}.
+ *
+ * @param at instante da última alteração entregue (precisão de microssegundos).
+ * @param id id do último usuário entregue naquele instante.
+ */
+public record SyncWatermark(Instant at, long id) {
+
+    /** Posição inicial: todas as alterações retidas. */
+    public static final SyncWatermark START = new SyncWatermark(Instant.EPOCH, 0L);
+
+    private static final String PREFIX = "v1:";
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, at);
+        byte[] raw = (PREFIX + micros + ":" + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @param token watermark recebido do cliente (nulo ou vazio na primeira sincronização).
+     */
+    public static SyncWatermark decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid watermark");
+            }
+            String[] parts = raw.substring(PREFIX.length()).split(":");
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Invalid watermark");
+            }
+            long micros = Long.parseLong(parts[0]);
+            long id = Long.parseLong(parts[1]);
+            if (micros < 0 || id < 0) {
+                throw new InvalidCursorException("Invalid watermark");
+            }
+            return new SyncWatermark(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), id);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new InvalidCursorException("Invalid watermark", e);
+        }
+    }
+}
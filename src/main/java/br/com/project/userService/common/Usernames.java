@@ -0,0 +1,49 @@
+package br.com.project.userService.common;
+
+import java.util.Locale;
+
+/**
+ * Regra única de normalização de username, usada para comparar nomes sem
+ * diferenciar maiúsculas de minúsculas.
+ */
+public final class Usernames {
+
+    private Usernames() {
+    }
+
+    public static String normalize(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Padrão LIKE (com {@code escape '\'}) para os usernames normalizados
+     * que começam com o prefixo; %, _ e \ do prefixo valem literalmente.
+     */
+    public static String prefixPattern(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 2);
+        for (char c : normalize(prefix).toCharArray()) {
+            if (c == '%' || c == '_' || c == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Menor string maior que todas as que começam com o prefixo (já
+     * normalizado): com ela a busca por prefixo vira o intervalo
+     * {@code [prefixo, limite)}, que o índice percorre diretamente.
+     */
+    public static String prefixUpperBound(String normalizedPrefix) {
+        int end = normalizedPrefix.length();
+        while (end > 0 && normalizedPrefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            // Prefixo vazio: qualquer username fica abaixo deste limite
+            return String.valueOf(Character.MAX_VALUE);
+        }
+        return normalizedPrefix.substring(0, end - 1) + (char) (normalizedPrefix.charAt(end - 1) + 1);
+    }
+}
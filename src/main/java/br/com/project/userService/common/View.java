@@ -3,4 +3,5 @@ package br.com.project.userService.common;
 public class View {
     public interface Create{};
     public interface Update{};
+    public interface Patch{};
 }
@@ -0,0 +1,51 @@
+package br.com.project.userService.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Log de auditoria das alterações de usuário.
+ *
+ * @param enabled       liga o registro dos eventos (desligado por padrão;
+ *                      ligado no perfil prod).
+ * @param directory     diretório dos segmentos.
+ * @param bufferSize    eventos pendentes no ring buffer (arredondado para
+ *                      potência de 2).
+ * @param overflow      o que fazer com o buffer cheio.
+ * @param sampleRate    com {@code SAMPLE}, 1 a cada N eventos que encontram
+ *                      o buffer cheio espera por espaço; os demais são
+ *                      descartados.
+ * @param batchSize     eventos gravados por lote pela thread de escrita.
+ * @param segmentSize   tamanho de cada segmento mapeado em memória.
+ * @param maxSegments   segmentos guardados; acima disso o mais antigo é apagado.
+ * @param fsyncInterval intervalo entre os fsync do segmento corrente.
+ */
+@ConfigurationProperties(prefix = "user-service.audit")
+public record AuditProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("audit") Path directory,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("block") Overflow overflow,
+        @DefaultValue("10") int sampleRate,
+        @DefaultValue("512") int batchSize,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("16") int maxSegments,
+        @DefaultValue("1s") Duration fsyncInterval) {
+
+    public enum Overflow {
+        /**
+         * A requisição espera espaço no buffer: nenhum evento se perde. A
+         * espera acontece no afterCommit, na thread da requisição, e atrasa
+         * a resposta de uma alteração já confirmada.
+         */
+        BLOCK,
+        /** O evento é descartado e contado em {@code user.audit.dropped}. */
+        DROP,
+        /** Só uma amostra dos eventos espera por espaço; o resto é descartado. */
+        SAMPLE
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.project.userService.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Formatos binários para clientes internos: com {@code Accept:
+ * application/cbor} ou {@code application/x-jackson-smile} qualquer endpoint
+ * responde no formato pedido; sem Accept (ou com JSON) nada muda.
+ *
+ * Os conversores usam o builder do Spring Boot, então as opções de
+ * {@code spring.jackson.*} (ex.: default-view-inclusion) valem como no JSON.
+ * Os padrões do Spring MVC ignorariam essas opções; declarados como bean,
+ * estes substituem os conversores padrão do mesmo tipo.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da sincronização incremental (GET /changes).
+ *
+ * @param settleTime         alterações mais recentes que isso ficam para a
+ *                           próxima chamada, para que transações ainda não
+ *                           confirmadas não sejam puladas pelo watermark.
+ * @param tombstoneRetention por quanto tempo as remoções são guardadas; um
+ *                           watermark mais antigo recebe 410 (ressincronizar).
+ * @param purgeInterval      intervalo da limpeza das remoções expiradas.
+ */
+@ConfigurationProperties(prefix = "user-service.changes")
+public record ChangesProperties(
+        @DefaultValue("1s") Duration settleTime,
+        @DefaultValue("30d") Duration tombstoneRetention,
+        @DefaultValue("1h") Duration purgeInterval) {
+}
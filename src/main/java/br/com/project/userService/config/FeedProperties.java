@@ -0,0 +1,38 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do feed de alterações (outbox + SSE).
+ *
+ * @param pollInterval     intervalo máximo entre duas leituras do outbox; um
+ *                         commit local acorda o relay antes disso.
+ * @param batchSize        eventos publicados por transação do relay.
+ * @param subscriberBuffer eventos aguardando envio por assinante; acima disso
+ *                         o assinante lento é desconectado e retoma pelo
+ *                         Last-Event-ID.
+ * @param heartbeat        intervalo do comentário keep-alive sem eventos.
+ * @param emitterTimeout   duração máxima de uma conexão SSE.
+ * @param retention        por quanto tempo eventos publicados ficam
+ *                         disponíveis para retomada.
+ * @param purgeInterval    intervalo da limpeza dos eventos expirados.
+ * @param relayEnabled     se falso, o relay desta instância não é iniciado
+ *                         (os eventos gravados ficam para o relay de outra
+ *                         instância na mesma base). Obrigatório no modo
+ *                         database, em que o relay não enxerga as bases dos
+ *                         tenants e o outbox não é gravado.
+ */
+@ConfigurationProperties(prefix = "user-service.feed")
+public record FeedProperties(
+        @DefaultValue("200ms") Duration pollInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1000") int subscriberBuffer,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("30m") Duration emitterTimeout,
+        @DefaultValue("24h") Duration retention,
+        @DefaultValue("10m") Duration purgeInterval,
+        @DefaultValue("true") boolean relayEnabled) {
+}
@@ -0,0 +1,43 @@
+package br.com.project.userService.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Pool de threads exclusivo para o BCrypt, separado das threads do Tomcat.
+ *
+ * Tamanho e fila são limitados: quando ambos estão ocupados a tarefa é
+ * rejeitada imediatamente (AbortPolicy), em vez de enfileirar sem limite e
+ * deixar o hash competir pela CPU com as leituras.
+ */
+@Configuration
+public class HashingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(HashingProperties properties, MeterRegistry registry) {
+        int threads = properties.effectiveThreads();
+        // Fila 0: sem espera, só entra o hash que encontra uma thread livre
+        BlockingQueue<Runnable> queue = properties.queueCapacity() > 0
+                ? new ArrayBlockingQueue<>(properties.queueCapacity())
+                : new SynchronousQueue<>();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                queue,
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // executor.queued (profundidade da fila), executor.active, executor.completed...
+        new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(registry);
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do pool dedicado ao hash de senhas (BCrypt).
+ *
+ * @param bcryptStrength fator de custo do BCrypt (log2 das rodadas).
+ * @param threads        threads do pool; 0 usa metade dos processadores disponíveis.
+ * @param queueCapacity  hashes aguardando além dos que estão em execução (0 = sem fila);
+ *                       acima disso a requisição é recusada com 429.
+ * @param retryAfter     valor enviado no cabeçalho Retry-After quando o pool está cheio.
+ */
+@ConfigurationProperties(prefix = "user-service.hashing")
+public record HashingProperties(
+        @DefaultValue("10") int bcryptStrength,
+        @DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("1s") Duration retryAfter) {
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
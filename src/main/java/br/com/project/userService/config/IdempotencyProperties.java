@@ -0,0 +1,30 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Respostas guardadas por {@code Idempotency-Key} em {@code POST /users}.
+ *
+ * @param ttl            por quanto tempo uma resposta é devolvida de novo
+ *                       para a mesma chave (deve cobrir a janela de retry
+ *                       dos clientes).
+ * @param maximumSize    número máximo de chaves guardadas (somando todos os
+ *                       tenants); acima disso as menos usadas são descartadas.
+ * @param maxKeyLength   tamanho máximo aceito para a chave.
+ * @param maxBodySize    corpo máximo de um POST com chave (lido em memória
+ *                       para o fingerprint); acima disso, 413.
+ * @param waitTimeout    espera máxima de uma repetição pela execução em
+ *                       andamento da mesma chave; depois disso, 409.
+ */
+@ConfigurationProperties(prefix = "user-service.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("255") int maxKeyLength,
+        @DefaultValue("1MB") DataSize maxBodySize,
+        @DefaultValue("10s") Duration waitTimeout) {
+}
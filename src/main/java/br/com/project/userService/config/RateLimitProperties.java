@@ -0,0 +1,56 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Controle de admissão por tenant, aplicado no {@code TenantFilter}.
+ *
+ * @param enabled       liga os limites; o formato do tenant é validado sempre.
+ * @param tenantPattern formato aceito no header x-tenant; no modo database
+ *                      vale também o formato seguro para a URL JDBC
+ *                      (letras, dígitos, _ e -).
+ * @param defaults      limites de todo tenant sem configuração própria.
+ * @param tenants       limites específicos por tenant; substituem os padrões
+ *                      por inteiro (campos omitidos usam os valores abaixo).
+ * @param idleTimeout   o estado de um tenant sem requisições há mais que
+ *                      isso é descartado (e recomeça com o bucket cheio).
+ * @param maxTenants    tenants com estado em memória; acima disso os menos
+ *                      usados são descartados, para que uma rajada de
+ *                      identificadores novos não cresça o cache sem limite.
+ */
+@ConfigurationProperties(prefix = "user-service.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("[A-Za-z0-9][A-Za-z0-9._-]{0,63}") String tenantPattern,
+        @DefaultValue Limits defaults,
+        Map<String, Limits> tenants,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("10000") long maxTenants) {
+
+    public Limits limitsFor(String tenant) {
+        return tenants == null ? defaults : tenants.getOrDefault(tenant, defaults);
+    }
+
+    /**
+     * Limites de um tenant. Leituras (GET, HEAD, OPTIONS) e escritas (demais
+     * métodos) têm buckets separados: uma escrita custa BCrypt e INSERTs,
+     * então a taxa de escritas é bem menor.
+     *
+     * @param readsPerSecond  taxa sustentada de leituras.
+     * @param readBurst       leituras aceitas de uma vez com o bucket cheio.
+     * @param writesPerSecond taxa sustentada de escritas.
+     * @param writeBurst      escritas aceitas de uma vez com o bucket cheio.
+     * @param maxConcurrent   requisições do tenant em andamento ao mesmo tempo.
+     */
+    public record Limits(
+            @DefaultValue("1000") double readsPerSecond,
+            @DefaultValue("2000") int readBurst,
+            @DefaultValue("100") double writesPerSecond,
+            @DefaultValue("200") int writeBurst,
+            @DefaultValue("64") int maxConcurrent) {
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.project.userService.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import br.com.project.userService.datasource.RecentWrites;
+import br.com.project.userService.datasource.RecentWritesFilter;
+import br.com.project.userService.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Separação leitura/escrita, ativada com {@code user-service.replicas.enabled}.
+ *
+ * O DataSource da aplicação vira um {@link LazyConnectionDataSourceProxy}
+ * sobre o pool do {@code spring.datasource}: a conexão física só é obtida
+ * no primeiro comando, quando a transação já marcou a conexão como
+ * read-only, e então vem do {@link ReplicaRoutingDataSource}. O
+ * {@link RecentWritesFilter} mantém no primário as leituras de quem acabou
+ * de escrever. Escritas,
+ * DDL e Flyway continuam no primário. Vale para o modo discriminator; no
+ * modo database cada tenant tem seus próprios pools.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "user-service.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public RecentWrites recentWrites(ReplicaProperties properties) {
+        return new RecentWrites(properties.primaryAfterWrite());
+    }
+
+    @Bean
+    public RecentWritesFilter recentWritesFilter(RecentWrites recentWrites) {
+        return new RecentWritesFilter(recentWrites);
+    }
+
+    @Bean(defaultCandidate = false)
+    public ReplicaRoutingDataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+            ReplicaProperties properties, RecentWrites recentWrites, MeterRegistry registry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Pool pool : properties.pools()) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + replicas.size());
+            config.setJdbcUrl(pool.url());
+            config.setUsername(pool.username());
+            config.setPassword(pool.password());
+            config.setMaximumPoolSize(pool.maxPoolSize());
+            config.setReadOnly(true);
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            // Réplica fora do ar na subida não impede a aplicação de iniciar
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, recentWrites, properties.retryAfter().toNanos(), registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") ReplicaRoutingDataSource replicas) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replicas);
+        return proxy;
+    }
+}
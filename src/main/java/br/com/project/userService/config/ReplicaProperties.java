@@ -0,0 +1,44 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Réplicas de leitura: transações read-only de uma requisição vão para um
+ * destes pools em vez do {@code spring.datasource}.
+ *
+ * @param enabled            liga o roteamento; desligado, tudo usa o primário.
+ * @param pools              réplicas, usadas em rodízio.
+ * @param primaryAfterWrite  depois de um commit de escrita, as leituras do
+ *                           cliente que reenvia o header X-Last-Write ficam
+ *                           no primário por esse tempo (deve cobrir o atraso
+ *                           de replicação).
+ * @param retryAfter         uma réplica que falhou ao conectar fica fora do
+ *                           rodízio por esse tempo.
+ * @param connectionTimeout  espera máxima por uma conexão da réplica antes
+ *                           de tentar a próxima (ou o primário).
+ */
+@ConfigurationProperties(prefix = "user-service.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Pool> pools,
+        @DefaultValue("2s") Duration primaryAfterWrite,
+        @DefaultValue("10s") Duration retryAfter,
+        @DefaultValue("1s") Duration connectionTimeout) {
+
+    /**
+     * @param url         URL JDBC da réplica.
+     * @param username    usuário da réplica.
+     * @param password    senha da réplica.
+     * @param maxPoolSize conexões da réplica.
+     */
+    public record Pool(
+            String url,
+            @DefaultValue("sa") String username,
+            @DefaultValue("") String password,
+            @DefaultValue("10") int maxPoolSize) {
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do dicionário de roles por tenant.
+ *
+ * @param ttl          tempo que o dicionário de um tenant fica em memória
+ *                     antes de ser relido do banco.
+ * @param reclaimAfter tempo que um bit aposentado (role sem nenhum usuário)
+ *                     espera antes de ser dado a outro role; deve ser maior
+ *                     que {@code ttl} somado à duração de uma transação de
+ *                     escrita, para que nenhuma instância ainda grave o bit
+ *                     com o significado antigo.
+ */
+@ConfigurationProperties(prefix = "user-service.role-dictionary")
+public record RoleDictionaryProperties(
+        @DefaultValue("1m") Duration ttl,
+        @DefaultValue("10m") Duration reclaimAfter) {
+
+    public RoleDictionaryProperties {
+        if (ttl.compareTo(reclaimAfter) > 0) {
+            throw new IllegalArgumentException("user-service.role-dictionary.reclaim-after must not be shorter than ttl");
+        }
+    }
+}
@@ -11,8 +11,8 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(HashingProperties hashingProperties) {
+        return new BCryptPasswordEncoder(hashingProperties.bcryptStrength());
     }
 
     @Bean
@@ -0,0 +1,41 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Modo de isolamento entre tenants.
+ *
+ * @param mode            DISCRIMINATOR (padrão): uma base, coluna TENANT.
+ *                        DATABASE: cada tenant em sua base/schema, com pool próprio.
+ * @param urlTemplate     URL JDBC do tenant; {tenant} é substituído pelo identificador.
+ * @param schemaTemplate  schema do tenant (opcional, para schema-per-tenant); aceita {tenant}.
+ * @param username        usuário das bases dos tenants.
+ * @param password        senha das bases dos tenants.
+ * @param maxPoolSize     conexões por tenant, salvo exceção em poolSizes.
+ * @param poolSizes       limite de conexões específico por tenant.
+ * @param idlePoolTimeout pools sem uso há mais que isso são fechados.
+ */
+@ConfigurationProperties(prefix = "user-service.tenancy")
+public record TenancyProperties(
+        @DefaultValue("discriminator") Mode mode,
+        @DefaultValue("jdbc:h2:mem:tenant_{tenant};DB_CLOSE_DELAY=-1") String urlTemplate,
+        String schemaTemplate,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("5") int maxPoolSize,
+        Map<String, Integer> poolSizes,
+        @DefaultValue("10m") Duration idlePoolTimeout) {
+
+    public enum Mode {
+        DISCRIMINATOR,
+        DATABASE
+    }
+
+    public int poolSizeFor(String tenant) {
+        return poolSizes == null ? maxPoolSize : poolSizes.getOrDefault(tenant, maxPoolSize);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.project.userService.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Propagação do tenant para os executores do Spring.
+ *
+ * O Spring Boot aplica o {@link TaskDecorator} ao executor padrão da
+ * aplicação (usado por @Async e pelo processamento assíncrono do MVC), de
+ * modo que as tarefas rodam com o mesmo tenant de quem as submeteu. O modo
+ * de threads virtuais é ligado por {@code spring.threads.virtual.enabled}.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    public TaskDecorator tenantTaskDecorator() {
+        return TenantContext::wrap;
+    }
+}
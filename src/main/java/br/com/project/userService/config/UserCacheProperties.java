@@ -0,0 +1,18 @@
+package br.com.project.userService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do cache de usuários por id.
+ *
+ * @param maximumSize número máximo de entradas (somando todos os tenants).
+ * @param ttl         tempo de vida de uma entrada após ser carregada.
+ */
+@ConfigurationProperties(prefix = "user-service.user-cache")
+public record UserCacheProperties(
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("5m") Duration ttl) {
+}
@@ -0,0 +1,16 @@
+package br.com.project.userService.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração das métricas por tenant.
+ *
+ * @param maxTenantTags número de tenants distintos usados como tag; os
+ *                      demais são agregados na tag "other", para limitar
+ *                      a quantidade de séries no Prometheus.
+ */
+@ConfigurationProperties(prefix = "user-service.metrics")
+public record UserMetricsProperties(
+        @DefaultValue("100") int maxTenantTags) {
+}
@@ -0,0 +1,19 @@
+package br.com.project.userService.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do índice de usernames em memória usado pelos validadores.
+ *
+ * @param enabled            se falso, toda validação consulta o banco.
+ * @param minCapacity        capacidade mínima do filtro de cada tenant.
+ * @param falsePositiveRate  taxa de falsos positivos desejada (cada falso
+ *                           positivo custa apenas a consulta que já existia).
+ */
+@ConfigurationProperties(prefix = "user-service.username-index")
+public record UsernameIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long minCapacity,
+        @DefaultValue("0.01") double falsePositiveRate) {
+}
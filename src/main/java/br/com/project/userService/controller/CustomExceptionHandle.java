@@ -1,8 +1,13 @@
 package br.com.project.userService.controller;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -10,13 +15,26 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import br.com.project.userService.common.ExceptionMessage;
 import br.com.project.userService.common.FieldMessage;
+import br.com.project.userService.exception.HashingCapacityExceededException;
+import br.com.project.userService.exception.InvalidCursorException;
+import br.com.project.userService.exception.PayloadTooLargeException;
 import br.com.project.userService.exception.RecordNotFoundException;
+import br.com.project.userService.exception.RoleLimitExceededException;
+import br.com.project.userService.exception.WatermarkExpiredException;
+import br.com.project.userService.metrics.UserMetrics;
+import lombok.RequiredArgsConstructor;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class CustomExceptionHandle {
 
+    private static final String USERNAME_CONSTRAINT_PREFIX = "UK_USR_";
+
+    private final UserMetrics metrics;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ExceptionMessage> handleMethodArgumentNotValid(MethodArgumentNotValidException e) {
+        metrics.error("validation");
         // Implement your exception handling logic here
         return ResponseEntity.badRequest().body(new ExceptionMessage(
             new Date(), 
@@ -28,8 +46,9 @@ public class CustomExceptionHandle {
 
     @ExceptionHandler(RecordNotFoundException.class)
     public ResponseEntity<ExceptionMessage> handleRecordNotFound(RecordNotFoundException e) {
+        metrics.error("not-found");
         // Implement your exception handling logic here
-        return ResponseEntity.badRequest().body(new ExceptionMessage(
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ExceptionMessage(
             new Date(),
             "Registro não encontrado",
             e.getMessage(), 
@@ -37,6 +56,87 @@ public class CustomExceptionHandle {
         ));
     }
 
+    @ExceptionHandler(RoleLimitExceededException.class)
+    public ResponseEntity<ExceptionMessage> handleRoleLimitExceeded(RoleLimitExceededException e) {
+        metrics.error("validation");
+        return ResponseEntity.badRequest().body(new ExceptionMessage(
+            new Date(),
+            "Erro de validação",
+            e.getMessage(),
+            List.of(new FieldMessage("roles", "tenant role limit reached"))
+        ));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionMessage> handleInvalidCursor(InvalidCursorException e) {
+        metrics.error("invalid-cursor");
+        return ResponseEntity.badRequest().body(new ExceptionMessage(
+            new Date(),
+            "Cursor inválido",
+            e.getMessage(),
+            null
+        ));
+    }
+
+    @ExceptionHandler(WatermarkExpiredException.class)
+    public ResponseEntity<ExceptionMessage> handleWatermarkExpired(WatermarkExpiredException e) {
+        metrics.error("watermark-expired");
+        return ResponseEntity.status(HttpStatus.GONE).body(new ExceptionMessage(
+            new Date(),
+            "Watermark expirado",
+            e.getMessage(),
+            null
+        ));
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ExceptionMessage> handlePayloadTooLarge(PayloadTooLargeException e) {
+        metrics.error("payload-too-large");
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(new ExceptionMessage(
+            new Date(),
+            "Requisição muito grande",
+            e.getMessage(),
+            null
+        ));
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ExceptionMessage> handleHashingCapacityExceeded(HashingCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+            .body(new ExceptionMessage(
+                new Date(),
+                "Muitas requisições",
+                e.getMessage(),
+                null
+            ));
+    }
+
+    /**
+     * A constraint única de username é a verificação final (o validador pode
+     * ter sido pulado pelo índice em memória ou perdido uma corrida). A
+     * violação vira o mesmo erro de campo do validador, não um 500.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ExceptionMessage> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+        if (detail.contains(USERNAME_CONSTRAINT_PREFIX)) {
+            metrics.error("validation");
+            return ResponseEntity.badRequest().body(new ExceptionMessage(
+                new Date(),
+                "Erro de validação",
+                "Ver trace",
+                List.of(new FieldMessage("username", "username already exists"))
+            ));
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ExceptionMessage(
+            new Date(),
+            "Conflito de dados",
+            "Data integrity violation",
+            null
+        ));
+    }
+
     // @ExceptionHandler(ConstraintDefinitionException.class)
     // public ResponseEntity<ExceptionMessage> handleConstraintDefinitionViolation(ConstraintDefinitionException e) {
     //     // Implement your exception handling logic here
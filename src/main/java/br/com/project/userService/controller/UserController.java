@@ -1,22 +1,52 @@
 package br.com.project.userService.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
 import br.com.project.userService.common.View;
+import br.com.project.userService.dto.BulkResultDTO;
+import br.com.project.userService.dto.ChangesDTO;
+import br.com.project.userService.dto.PageDTO;
+import br.com.project.userService.dto.RoleChangeDTO;
+import br.com.project.userService.dto.RoleChangeResultDTO;
 import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.exception.PayloadTooLargeException;
+import br.com.project.userService.factory.UserDTOWriter;
+import br.com.project.userService.feed.ChangeFeed;
 import br.com.project.userService.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -24,35 +54,210 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final SerializedString NDJSON_SEPARATOR = new SerializedString("\n");
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final List<MediaType> STREAM_FORMATS = List.of(
+            MediaType.parseMediaType(NDJSON), MediaType.APPLICATION_CBOR, MediaType.parseMediaType(SMILE));
+
     private final UserService service;
 
+    private final ObjectMapper objectMapper;
+
+    private final ChangeFeed changeFeed;
+
+    private final UserDTOWriter userDTOWriter;
+
     @PostMapping
     public ResponseEntity<UserDTO> create(@Validated(View.Create.class) @RequestBody UserDTO dto) {
         UserDTO created = service.create(dto);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Criação em lote a partir de um array JSON. A resposta traz o resultado
+     * de cada item; itens inválidos não impedem a criação dos demais.
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkCreate(@RequestBody List<UserDTO> dtos) {
+        return ResponseEntity.ok(service.bulkCreate(dtos));
+    }
+
+    /**
+     * Criação em lote a partir de NDJSON (um usuário por linha). Uma linha
+     * malformada vira uma falha apenas daquele item.
+     */
+    @PostMapping(path = "/bulk", consumes = NDJSON)
+    public ResponseEntity<BulkResultDTO> bulkCreateNdjson(HttpServletRequest request) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(UserDTO.class);
+        List<UserDTO> dtos = new ArrayList<>();
+        try (BufferedReader lines = request.getReader()) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (dtos.size() == UserService.BULK_MAX_ITEMS) {
+                    throw new PayloadTooLargeException("Bulk requests accept at most " + UserService.BULK_MAX_ITEMS + " users");
+                }
+                try {
+                    dtos.add(reader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    dtos.add(null);
+                }
+            }
+        }
+        return ResponseEntity.ok(service.bulkCreate(dtos));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserDTO> update(@PathVariable long id, @Validated(View.Update.class) @RequestBody UserDTO dto) {
         UserDTO updated = service.update(id, dto);
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Atualização parcial: apenas username e/ou roles presentes no corpo.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable long id, @Validated(View.Patch.class) @RequestBody UserDTO dto) {
+        service.patch(id, dto);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Concede um role a todos os usuários do filtro (ids, prefixo de username
+     * ou role existente) em comandos por conjunto, sem um PUT por usuário.
+     */
+    @PostMapping("/roles/grant")
+    public ResponseEntity<RoleChangeResultDTO> grantRole(@Valid @RequestBody RoleChangeDTO request) {
+        return ResponseEntity.ok(new RoleChangeResultDTO(service.grantRole(request)));
+    }
+
+    /**
+     * Revoga um role de todos os usuários do filtro; mesmo corpo do grant.
+     */
+    @PostMapping("/roles/revoke")
+    public ResponseEntity<RoleChangeResultDTO> revokeRole(@Valid @RequestBody RoleChangeDTO request) {
+        return ResponseEntity.ok(new RoleChangeResultDTO(service.revokeRole(request)));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable long id) {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * O ETag é a versão do registro (com sufixo na variante sem roles); com
+     * If-None-Match igual a resposta é 304, sem corpo.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<UserDTO> findById(@PathVariable long id) {
-        UserDTO found = service.findById(id);
-        return ResponseEntity.ok(found);
+    public ResponseEntity<UserDTO> findById(@PathVariable long id,
+            @RequestParam(defaultValue = "true") boolean includeRoles) {
+        UserDTO found = service.findById(id, includeRoles);
+        return ResponseEntity.ok()
+                .eTag(found.getVersion() + (includeRoles ? "" : "-noroles"))
+                .body(found);
+    }
+
+    /**
+     * Sincronização incremental: apenas o que foi criado, alterado ou removido
+     * desde o watermark {@code since} (omitido na primeira chamada).
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ChangesDTO> changes(@RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + UserService.MAX_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(service.findChanges(since, limit));
+    }
+
+    /**
+     * Feed de alterações via Server-Sent Events: cada evento tem como id o
+     * offset no outbox. Ao reconectar, o cliente envia Last-Event-ID (ou
+     * {@code since}) e recebe o que perdeu antes dos eventos ao vivo.
+     */
+    @GetMapping(path = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * Busca por prefixo de username (sem diferenciar maiúsculas), opcionalmente
+     * filtrada por role; devolve no máximo {@code limit} usuários em ordem de
+     * username. Substitui listar o tenant inteiro e filtrar no cliente.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<UserDTO>> search(@RequestParam(defaultValue = "") String prefix,
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_SEARCH_SIZE) int limit) {
+        return ResponseEntity.ok(service.search(prefix, role, limit));
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> findAll() {
-        List<UserDTO> all = (List<UserDTO>) service.findAll();
-        return ResponseEntity.ok(all);
+    public ResponseEntity<PageDTO<UserDTO>> findAll(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String role) {
+        PageDTO<UserDTO> page = service.findPage(cursor, limit, role);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Exporta todos os usuários do tenant como NDJSON (um objeto por linha),
+     * escrevendo direto na resposta à medida que os lotes são lidos. Com
+     * CBOR ou Smile pedido explicitamente no Accept, sai a mesma sequência
+     * de objetos no formato binário.
+     */
+    @GetMapping(path = "/stream", produces = {NDJSON, MediaType.APPLICATION_CBOR_VALUE, SMILE})
+    public void stream(@RequestHeader(name = HttpHeaders.ACCEPT, defaultValue = NDJSON) String accept,
+            HttpServletResponse response) throws IOException {
+        String format = streamFormat(accept);
+        switch (format) {
+            case MediaType.APPLICATION_CBOR_VALUE -> stream(CBOR_FACTORY.createGenerator(start(response, format)));
+            case SMILE -> stream(SMILE_FACTORY.createGenerator(start(response, format)));
+            default -> {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(start(response, NDJSON));
+                generator.setRootValueSeparator(NDJSON_SEPARATOR);
+                stream(generator);
+            }
+        }
+    }
+
+    // O formato listado no Accept com maior qualidade; NDJSON quando o
+    // cliente não cita nenhum (ex.: */*), para não mudar a resposta padrão
+    private static String streamFormat(String accept) {
+        String format = NDJSON;
+        double quality = 0.0;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            for (MediaType candidate : STREAM_FORMATS) {
+                if (type.equalsTypeAndSubtype(candidate) && type.getQualityValue() > quality) {
+                    format = candidate.toString();
+                    quality = type.getQualityValue();
+                }
+            }
+        }
+        return format;
+    }
+
+    private static OutputStream start(HttpServletResponse response, String contentType) throws IOException {
+        response.setContentType(contentType);
+        return response.getOutputStream();
+    }
+
+    // Cada entidade lida vai direto para o generator, sem DTO intermediário
+    private void stream(JsonGenerator generator) throws IOException {
+        try (generator) {
+            service.forEachUserRow(entity -> {
+                try {
+                    userDTOWriter.write(entity, generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 }
@@ -0,0 +1,80 @@
+package br.com.project.userService.datasource;
+
+import java.time.Duration;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Escritas recentes do cliente da requisição corrente, para que ele leia o
+ * que acabou de gravar mesmo com atraso de replicação.
+ *
+ * Registrado como listener do gerenciador de transações: o commit de uma
+ * transação de escrita marca a requisição e devolve o instante no header
+ * {@value #HEADER}. O cliente que reenvia esse header nas leituras
+ * seguintes fica no primário até o fim da janela; os demais clientes do
+ * mesmo tenant continuam nas réplicas. O valor é um instante do relógio
+ * do servidor, então a janela deve cobrir também a diferença entre os
+ * relógios das instâncias.
+ */
+public class RecentWrites implements TransactionExecutionListener {
+
+    public static final String HEADER = "X-Last-Write";
+
+    private static final ScopedValue<Client> CURRENT = ScopedValue.newInstance();
+
+    private final long windowMillis;
+
+    public RecentWrites(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    /**
+     * Executa {@code op} com o cliente da requisição vinculado.
+     *
+     * @param lastWrite instante recebido no header {@value #HEADER}, ou 0.
+     */
+    public <R, X extends Throwable> R callAs(long lastWrite, HttpServletResponse response,
+            ScopedValue.CallableOp<? extends R, X> op) throws X {
+        return ScopedValue.where(CURRENT, new Client(lastWrite, response)).call(op);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly() && CURRENT.isBound()) {
+            CURRENT.get().wrote(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return true se o cliente da requisição corrente escreveu dentro da janela.
+     */
+    public boolean wroteRecently() {
+        if (!CURRENT.isBound()) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - CURRENT.get().lastWrite;
+        // Um instante no futuro (relógio de outra instância) também conta
+        return age < windowMillis && age > -windowMillis;
+    }
+
+    private static final class Client {
+
+        private final HttpServletResponse response;
+        private volatile long lastWrite;
+
+        private Client(long lastWrite, HttpServletResponse response) {
+            this.lastWrite = lastWrite;
+            this.response = response;
+        }
+
+        private void wrote(long now) {
+            lastWrite = now;
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(now));
+            }
+        }
+    }
+}
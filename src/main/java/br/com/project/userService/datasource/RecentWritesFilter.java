@@ -0,0 +1,65 @@
+package br.com.project.userService.datasource;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.project.userService.idempotency.IdempotencyFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Vincula o cliente da requisição ao {@link RecentWrites}, com o instante
+ * da última escrita que ele informou no header {@value RecentWrites#HEADER}.
+ * Um valor ausente ou inválido vale como "nenhuma escrita recente".
+ */
+@RequiredArgsConstructor
+public class RecentWritesFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final int ORDER = IdempotencyFilter.ORDER + 1;
+
+    private final RecentWrites recentWrites;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    // O dispatch assíncrono (streaming) também lê do banco
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            recentWrites.callAs(lastWrite(request), response, () -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    private static long lastWrite(HttpServletRequest request) {
+        String header = request.getHeader(RecentWrites.HEADER);
+        if (header == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
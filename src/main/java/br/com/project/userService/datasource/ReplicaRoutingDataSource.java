@@ -0,0 +1,151 @@
+package br.com.project.userService.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import br.com.project.userService.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSource das conexões read-only, entregue ao
+ * {@code LazyConnectionDataSourceProxy}: escolhe uma réplica em rodízio,
+ * pula as que falharam recentemente e cai no primário quando nenhuma
+ * responde.
+ *
+ * Ficam no primário as leituras sem tenant vinculado (relay do outbox, feed,
+ * jobs), que dependem de dados recém-gravados, as do cliente que acabou de
+ * escrever ({@link RecentWrites}) e as feitas dentro de
+ * {@link #callOnPrimary(String, ScopedValue.CallableOp)}. O contador
+ * {@code user.datasource.reads} mostra a divisão por pool e motivo.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String READS = "user.datasource.reads";
+
+    static final String PRIMARY = "primary";
+
+    // Motivo do contador quando as leituras da operação devem ir ao primário
+    private static final ScopedValue<String> PRIMARY_REASON = ScopedValue.newInstance();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final RecentWrites recentWrites;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final MeterRegistry registry;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, RecentWrites recentWrites,
+            long retryAfterNanos, MeterRegistry registry) {
+        this.primary = primary;
+        this.retryAfterNanos = retryAfterNanos;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicas.get(i)))
+                .toList();
+        this.recentWrites = recentWrites;
+        this.registry = registry;
+    }
+
+    /**
+     * Executa {@code op} com as transações read-only no primário, para
+     * leituras cujo resultado é guardado e servido a outros clientes (um
+     * valor lido de uma réplica atrasada ficaria no cache até expirar).
+     * Sem réplicas configuradas não tem efeito.
+     *
+     * @param reason tag {@code reason} do contador {@value #READS}.
+     */
+    public static <R, X extends Throwable> R callOnPrimary(String reason, ScopedValue.CallableOp<? extends R, X> op) throws X {
+        return ScopedValue.where(PRIMARY_REASON, reason).call(op);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (PRIMARY_REASON.isBound()) {
+            return fromPrimary(source, PRIMARY_REASON.get());
+        }
+        if (TenantContext.UNKNOWN.equals(TenantContext.current())) {
+            return fromPrimary(source, "no-tenant");
+        }
+        if (recentWrites.wroteRecently()) {
+            return fromPrimary(source, "after-write");
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        long now = System.nanoTime();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (now - replica.failedAt < retryAfterNanos) {
+                continue;
+            }
+            try {
+                Connection connection = source.open(replica.dataSource);
+                count(replica.name, "replica");
+                return connection;
+            } catch (SQLException e) {
+                replica.failedAt = System.nanoTime();
+                log.warn("Réplica {} indisponível; fora do rodízio por {} ms", replica.name, retryAfterNanos / 1_000_000, e);
+            }
+        }
+        return fromPrimary(source, "fallback");
+    }
+
+    private Connection fromPrimary(ConnectionSource source, String reason) throws SQLException {
+        Connection connection = source.open(primary);
+        count(PRIMARY, reason);
+        return connection;
+    }
+
+    private void count(String pool, String reason) {
+        Counter.builder(READS)
+                .description("Conexões de transações read-only por pool")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        // Instante da última falha; o valor inicial deixa a réplica disponível
+        private volatile long failedAt;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.failedAt = System.nanoTime() - retryAfterNanos;
+        }
+    }
+}
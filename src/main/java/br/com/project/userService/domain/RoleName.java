@@ -0,0 +1,63 @@
+package br.com.project.userService.domain;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.TenantId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entrada do dicionário de roles de um tenant: o nome e a posição do bit
+ * que o representa em {@link UserEntity#getRoleMask()}. Uma entrada nunca é
+ * renumerada; o bit só muda de role depois de aposentado
+ * ({@link #getRetiredAt()}) sem nenhum usuário durante a quarentena.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity(name = "RoleName")
+@Table(name = "ROLE_NAMES", uniqueConstraints = {
+    @UniqueConstraint(name = "UK_ROLE_001", columnNames = {"TENANT", "name"}),
+    // Duas instâncias registrando roles ao mesmo tempo não ficam com o mesmo bit
+    @UniqueConstraint(name = "UK_ROLE_002", columnNames = {"TENANT", "bit"})
+})
+public class RoleName {
+
+    // Registros são raros: sem reserva de ids em bloco
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_names_seq")
+    @SequenceGenerator(name = "role_names_seq", sequenceName = "ROLE_NAMES_SEQ", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false, length = 4000)
+    private String name;
+
+    @Column(nullable = false)
+    private int bit;
+
+    @TenantId
+    @Column(nullable = false, length = 255)
+    private String tenant;
+
+    // Preenchido quando o role fica sem usuários; nulo para roles em uso
+    @Column(name = "retired_at")
+    private Instant retiredAt;
+
+    public RoleName(String name, int bit) {
+        this.name = name;
+        this.bit = bit;
+    }
+}
@@ -1,20 +1,21 @@
 package br.com.project.userService.domain;
 
-import java.util.List;
+import java.time.Instant;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UpdateTimestamp;
 
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,27 +26,58 @@ import lombok.Setter;
 @NoArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity(name = "User")
-@Table(name = "USERS", uniqueConstraints = @UniqueConstraint(name = "UK_USR_001",columnNames = {"username","TENANT"}))
+@Table(name = "USERS", uniqueConstraints = {
+    @UniqueConstraint(name = "UK_USR_001",columnNames = {"username","TENANT"}),
+    // Índice das buscas por username sem diferenciar maiúsculas (validadores,
+    // criação em lote) e garantia de unicidade case-insensitive no banco
+    @UniqueConstraint(name = "UK_USR_002",columnNames = {"TENANT","username_normalized"})
+}, indexes = {
+    // Sincronização incremental (GET /changes): keyset por (last_modified, id) dentro do tenant
+    @Index(name = "IX_USR_CHANGES", columnList = "TENANT, last_modified, id")
+})
 public class UserEntity {
     
     @EqualsAndHashCode.Include
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com otimizador pooled (allocationSize > 1): o Hibernate reserva
+    // ids em blocos e consegue agrupar os INSERTs em batches JDBC, o que não
+    // acontece com IDENTITY.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "USERS_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
     private String username;
 
+    // Username em minúsculas (ver Usernames.normalize), preenchido pela
+    // UserFactory e pelo UserService.update
+    @Column(name = "username_normalized", nullable = false, length = 255)
+    private String usernameNormalized;
+
     
     @Column(nullable = false, length = 255)
     private String password;
     
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "USER_ROLES", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(nullable = false, length = 4000)
-    private List <String> roles;
+    // Roles codificados pelo RoleDictionary do tenant (um bit por role), na
+    // própria linha: ler uma página não consulta outra tabela.
+    @ColumnDefault("0")
+    @Column(name = "role_mask", nullable = false)
+    private long roleMask;
 
     @TenantId
     @Column(nullable = false, length = 255)
     private String tenant;
+
+    // Incrementada a cada alteração (também pelos UPDATEs diretos do
+    // UserRepository); vira o ETag de GET /users/{id}
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    // Momento da última alteração, base do GET /changes
+    @UpdateTimestamp
+    @ColumnDefault("current_timestamp")
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
 }
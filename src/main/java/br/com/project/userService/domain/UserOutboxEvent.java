@@ -0,0 +1,100 @@
+package br.com.project.userService.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Evento de alteração de usuário gravado na mesma transação da alteração
+ * (outbox). O {@code OutboxRelay} atribui o offset na ordem em que publica
+ * os eventos; enquanto o offset é nulo o evento está pendente.
+ *
+ * Sem @TenantId: o relay lê os eventos de todos os tenants, e o tenant
+ * fica em uma coluna comum.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity(name = "UserOutboxEvent")
+@Table(name = "USER_OUTBOX", uniqueConstraints = {
+    @UniqueConstraint(name = "UK_OUTBOX_001", columnNames = "event_offset")
+}, indexes = {
+    @Index(name = "IX_OUTBOX_PENDING", columnList = "event_offset, created_at"),
+    @Index(name = "IX_OUTBOX_TENANT", columnList = "tenant, event_offset")
+})
+public class UserOutboxEvent implements Persistable<UUID> {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    // Gerado na aplicação: um id de sequence exigiria um SELECT extra a cada bloco
+    @EqualsAndHashCode.Include
+    @Id
+    private UUID id;
+
+    @Column(nullable = false, length = 255)
+    private String tenant;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    // UserDTO em JSON (sem senha); nulo nas remoções
+    @Lob
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "event_offset")
+    private Long eventOffset;
+
+    @Transient
+    private boolean persisted;
+
+    public UserOutboxEvent(String tenant, long userId, Type type, String payload) {
+        this.id = UUID.randomUUID();
+        this.tenant = tenant;
+        this.userId = userId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    // Evita o SELECT do merge: um evento novo é sempre inserido
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
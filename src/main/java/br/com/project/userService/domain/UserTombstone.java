@@ -0,0 +1,44 @@
+package br.com.project.userService.domain;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.TenantId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Registro de um usuário removido, para que GET /changes informe a remoção
+ * a quem sincroniza de forma incremental. Mantido até o fim da retenção
+ * configurada em {@code user-service.changes.tombstone-retention}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity(name = "UserTombstone")
+@Table(name = "USER_TOMBSTONES", indexes = {
+    @Index(name = "IX_TMB_CHANGES", columnList = "TENANT, deleted_at, user_id")
+})
+public class UserTombstone {
+
+    // Ids vêm da sequence de usuários e nunca são reutilizados
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    @TenantId
+    @Column(nullable = false, length = 255)
+    private String tenant;
+}
@@ -0,0 +1,24 @@
+package br.com.project.userService.dto;
+
+import java.util.List;
+
+import br.com.project.userService.common.FieldMessage;
+
+/**
+ * Resultado de um item da criação em lote.
+ *
+ * @param index   posição do item no corpo da requisição.
+ * @param success se o usuário foi criado.
+ * @param user    usuário criado (sem senha); nulo em caso de falha.
+ * @param errors  motivos da falha; vazio em caso de sucesso.
+ */
+public record BulkItemDTO(int index, boolean success, UserDTO user, List<FieldMessage> errors) {
+
+    public static BulkItemDTO created(int index, UserDTO user) {
+        return new BulkItemDTO(index, true, user, List.of());
+    }
+
+    public static BulkItemDTO failed(int index, List<FieldMessage> errors) {
+        return new BulkItemDTO(index, false, null, errors);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.project.userService.dto;
+
+import java.util.List;
+
+/**
+ * Resposta da criação em lote: totais e o resultado de cada item, na
+ * mesma ordem do corpo da requisição.
+ */
+public record BulkResultDTO(int created, int failed, List<BulkItemDTO> items) {
+
+    public static BulkResultDTO of(List<BulkItemDTO> items) {
+        int created = (int) items.stream().filter(BulkItemDTO::success).count();
+        return new BulkResultDTO(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.project.userService.dto;
+
+import java.util.List;
+
+/**
+ * Resposta de GET /changes: o que mudou no tenant desde o watermark enviado.
+ *
+ * @param upserts   usuários criados ou alterados, no estado atual.
+ * @param deletes   ids de usuários removidos.
+ * @param watermark valor a enviar em {@code since} na próxima chamada.
+ * @param hasMore   verdadeiro se há mais alterações além do limite pedido.
+ */
+public record ChangesDTO(List<UserDTO> upserts, List<Long> deletes, String watermark, boolean hasMore) {
+
+}
@@ -0,0 +1,13 @@
+package br.com.project.userService.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados da listagem por keyset.
+ *
+ * @param items      registros da página, ordenados por id.
+ * @param nextCursor token para a próxima página; nulo quando não há mais registros.
+ */
+public record PageDTO<T>(List<T> items, String nextCursor) {
+
+}
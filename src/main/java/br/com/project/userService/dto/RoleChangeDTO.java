@@ -0,0 +1,27 @@
+package br.com.project.userService.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Concessão ou revogação de um role para todos os usuários do tenant que
+ * atendem a um único filtro: lista de ids, prefixo de username ou um role
+ * que já possuem.
+ */
+public record RoleChangeDTO(
+        @NotBlank(message = "O campo role é obrigatório") String role,
+        @Size(max = 50_000, message = "O campo ids aceita no máximo 50000 ids") List<Long> ids,
+        String usernamePrefix,
+        String withRole) {
+
+    @AssertTrue(message = "Informe exatamente um filtro: ids, usernamePrefix ou withRole")
+    public boolean isSingleFilter() {
+        int filters = (ids == null || ids.isEmpty() ? 0 : 1)
+                + (usernamePrefix == null || usernamePrefix.isEmpty() ? 0 : 1)
+                + (withRole == null || withRole.isEmpty() ? 0 : 1);
+        return filters == 1;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.project.userService.dto;
+
+/**
+ * Resposta da concessão/revogação em massa: quantos usuários mudaram
+ * (quem já tinha, ou já não tinha, o role não conta).
+ */
+public record RoleChangeResultDTO(int affected) {
+}
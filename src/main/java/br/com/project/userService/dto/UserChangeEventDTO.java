@@ -0,0 +1,19 @@
+package br.com.project.userService.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Evento enviado aos assinantes do feed (campo {@code data} do SSE).
+ *
+ * @param offset posição do evento no feed (também o {@code id} do SSE).
+ * @param type   CREATED, UPDATED ou DELETED.
+ * @param userId usuário alterado.
+ * @param at     instante da alteração.
+ * @param user   estado enviado na alteração (JSON do UserDTO, sem senha);
+ *               no PATCH apenas os campos alterados, nulo na remoção.
+ */
+public record UserChangeEventDTO(long offset, String type, long userId, Instant at, @JsonRawValue String user) {
+
+}
@@ -3,16 +3,21 @@ package br.com.project.userService.dto;
 import java.io.Serializable;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import br.com.project.userService.common.View;
 import br.com.project.userService.validation.UserUpdate;
 import br.com.project.userService.validation.UserCreate;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 @UserCreate(groups = View.Create.class)
-@UserUpdate(groups = View.Update.class)
+@UserUpdate(groups = {View.Update.class, View.Patch.class})
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class UserDTO implements Serializable {
@@ -21,12 +26,20 @@ public class UserDTO implements Serializable {
     private long id;
 
     @NotBlank(message = "O campo Username é obrigatório", groups = {View.Create.class, View.Update.class})
+    @Pattern(regexp = ".*\\S.*", message = "O campo Username não pode ser vazio", groups = View.Patch.class)
     private String username;
 
     @NotBlank(message = "O campo password é obrigatório", groups = {View.Create.class, View.Update.class})
     private String password;
 
     @NotEmpty(message = "O campo roles é obrigatório", groups = {View.Create.class, View.Update.class})
+    @Size(min = 1, message = "O campo roles não pode ser vazio", groups = View.Patch.class)
     private List<String> roles;
 
+    // Versão do registro (mesmo valor do ETag); apenas leitura, ausente
+    // quando desconhecida (ex.: eventos de alteração do feed)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
 }
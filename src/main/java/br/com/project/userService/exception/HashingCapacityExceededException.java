@@ -0,0 +1,21 @@
+package br.com.project.userService.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+@Getter
+public class HashingCapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public HashingCapacityExceededException(Duration retryAfter) {
+        super("Password hashing capacity exceeded, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public HashingCapacityExceededException(Duration retryAfter, Throwable cause) {
+        super("Password hashing capacity exceeded, retry later", cause);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.project.userService.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid cursor");
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
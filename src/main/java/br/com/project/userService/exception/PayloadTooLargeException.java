@@ -0,0 +1,16 @@
+package br.com.project.userService.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException() {
+        super("Payload too large");
+    }
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+
+    public PayloadTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.project.userService.exception;
+
+public class RoleLimitExceededException extends RuntimeException {
+
+    public RoleLimitExceededException(int limit) {
+        super("A tenant can define at most " + limit + " distinct roles");
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.project.userService.exception;
+
+/**
+ * O watermark é anterior à retenção das remoções: o cliente pode ter
+ * perdido exclusões e precisa sincronizar tudo de novo (sem {@code since}).
+ */
+public class WatermarkExpiredException extends RuntimeException {
+
+    public WatermarkExpiredException() {
+        super("Watermark is older than the tombstone retention; resynchronize without 'since'");
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.project.userService.factory;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import br.com.project.userService.cache.RoleDictionary;
+import br.com.project.userService.domain.UserEntity;
+import br.com.project.userService.dto.UserDTO;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escreve uma UserEntity direto no JsonGenerator com o mesmo formato do
+ * {@link UserDTO} de resposta (senha sempre nula), sem criar o DTO nem a
+ * lista de roles. Serve para JSON, CBOR e Smile: o formato vem do generator.
+ *
+ * Usado nas exportações em que cada linha lida vira uma saída; qualquer
+ * campo novo no UserDTO precisa ser refletido aqui.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDTOWriter {
+
+    // Nomes pré-codificados: o generator reaproveita os bytes a cada usuário
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString PASSWORD = new SerializedString("password");
+    private static final SerializedString ROLES = new SerializedString("roles");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    private final RoleDictionary roleDictionary;
+
+    public void write(UserEntity entity, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(entity.getId());
+        generator.writeFieldName(USERNAME);
+        generator.writeString(entity.getUsername());
+        // NUNCA escreva a senha (nem a hash): o campo sai nulo, como no DTO
+        generator.writeFieldName(PASSWORD);
+        generator.writeNull();
+        generator.writeFieldName(ROLES);
+        writeRoles(entity.getRoleMask(), generator);
+        generator.writeFieldName(VERSION);
+        generator.writeNumber(entity.getVersion());
+        generator.writeEndObject();
+    }
+
+    // Mesma ordem do RoleDictionary.decode (bit crescente). O tamanho vai
+    // no início do array: em CBOR evita o marcador de fim, como no DTO
+    private void writeRoles(long mask, JsonGenerator generator) throws IOException {
+        String[] names = roleDictionary.namesCovering(mask);
+        int size = 0;
+        for (long remaining = mask; remaining != 0L; remaining &= remaining - 1) {
+            if (isNamed(names, Long.numberOfTrailingZeros(remaining))) {
+                size++;
+            }
+        }
+        generator.writeStartArray(null, size);
+        for (long remaining = mask; remaining != 0L; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            if (isNamed(names, bit)) {
+                generator.writeString(names[bit]);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static boolean isNamed(String[] names, int bit) {
+        return bit < names.length && names[bit] != null;
+    }
+}
@@ -1,10 +1,16 @@
 package br.com.project.userService.factory;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
+import br.com.project.userService.cache.RoleDictionary;
+import br.com.project.userService.common.Usernames;
 import br.com.project.userService.domain.UserEntity;
 import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.metrics.UserMetrics;
+import br.com.project.userService.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -18,7 +24,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserFactory {
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+
+    private final UserMetrics metrics;
+
+    private final RoleDictionary roleDictionary;
 
     /**
      * Cria uma UserEntity (JPA) a partir de um UserDTO (requisição).
@@ -30,13 +40,39 @@ public class UserFactory {
     public UserEntity createEntityFromDTO(UserDTO dto) {
         UserEntity entity = new UserEntity();
         entity.setUsername(dto.getUsername());
+        entity.setUsernameNormalized(Usernames.normalize(dto.getUsername()));
         // Lógica de criação encapsulada: criptografar a senha
-        entity.setPassword(passwordEncoder.encode(dto.getPassword()));
-        entity.setRoles(dto.getRoles());
+        // (no pool dedicado ao BCrypt, fora da thread da requisição)
+        entity.setPassword(metrics.stage("hash", () -> passwordHasher.hash(dto.getPassword())));
+        entity.setRoleMask(roleDictionary.encode(dto.getRoles()));
         // ID será nulo por padrão, o que é correto para o JPA (INSERT)
         return entity;
     }
 
+    /**
+     * Versão em lote de {@link #createEntityFromDTO(UserDTO)} usada na criação
+     * em massa. O hash BCrypt é o passo caro, por isso os itens são
+     * processados em paralelo no pool de hash; a ordem da lista de entrada
+     * é preservada.
+     *
+     * @param dtos DTOs já validados.
+     * @return as entidades, na mesma ordem dos DTOs.
+     */
+    public List<UserEntity> createEntitiesFromDTOs(List<UserDTO> dtos) {
+        List<String> hashes = metrics.stage("hash",
+                () -> passwordHasher.hashAll(dtos.stream().map(UserDTO::getPassword).toList()));
+        List<UserEntity> entities = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            UserEntity entity = new UserEntity();
+            entity.setUsername(dtos.get(i).getUsername());
+            entity.setUsernameNormalized(Usernames.normalize(dtos.get(i).getUsername()));
+            entity.setPassword(hashes.get(i));
+            entity.setRoleMask(roleDictionary.encode(dtos.get(i).getRoles()));
+            entities.add(entity);
+        }
+        return entities;
+    }
+
     /**
      * Cria um UserDTO (resposta) a partir de uma UserEntity (JPA).
      * Este método é usado para retornar dados ao cliente.
@@ -45,10 +81,26 @@ public class UserFactory {
      * @return Um DTO limpo, pronto para ser enviado como JSON.
      */
     public UserDTO createDTOFromEntity(UserEntity entity) {
+        return createDTOFromEntity(entity, true);
+    }
+
+    /**
+     * Variante que permite omitir os roles quando o cliente não precisa
+     * deles (sem decodificar a máscara).
+     *
+     * @param entity       A entidade vinda do banco de dados.
+     * @param includeRoles se falso, o campo roles do DTO fica nulo.
+     * @return Um DTO limpo, pronto para ser enviado como JSON.
+     */
+    public UserDTO createDTOFromEntity(UserEntity entity, boolean includeRoles) {
         UserDTO dto = new UserDTO();
         dto.setId(entity.getId());
         dto.setUsername(entity.getUsername());
-        dto.setRoles(entity.getRoles());
+        dto.setVersion(entity.getVersion());
+        if (includeRoles) {
+            // Decodificado pelo dicionário em memória do tenant
+            dto.setRoles(roleDictionary.decode(entity.getRoleMask()));
+        }
         
         // NUNCA retorne a senha (nem a hash) para o cliente.
         // O campo 'password' no DTO ficará nulo.
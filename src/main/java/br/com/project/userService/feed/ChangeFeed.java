@@ -0,0 +1,144 @@
+package br.com.project.userService.feed;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.project.userService.config.FeedProperties;
+import br.com.project.userService.domain.UserOutboxEvent;
+import br.com.project.userService.dto.UserChangeEventDTO;
+import br.com.project.userService.repository.UserOutboxRepository;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Assinantes SSE do feed de alterações, agrupados por tenant.
+ *
+ * Cada assinante tem uma fila limitada ({@code subscriber-buffer}) e uma
+ * thread virtual que envia os eventos. Um assinante que não acompanha o
+ * ritmo (fila cheia) é desconectado em vez de segurar memória ou atrasar
+ * os demais; ao reconectar com Last-Event-ID ele recebe do outbox o que
+ * perdeu.
+ *
+ * No desligamento as conexões são encerradas antes do graceful shutdown
+ * do servidor, que do contrário esperaria por elas até o timeout.
+ */
+@Component
+public class ChangeFeed implements SmartLifecycle {
+
+    private final UserOutboxRepository repository;
+    private final FeedProperties properties;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final Map<String, Set<FeedSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter slowDisconnects;
+
+    private volatile long latestOffset;
+    private volatile long oldestOffset = 1;
+    private volatile boolean running;
+
+    public ChangeFeed(UserOutboxRepository repository, FeedProperties properties,
+            TenantIdentifierResolver tenantIdentifierResolver, MeterRegistry registry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.tenantIdentifierResolver = tenantIdentifierResolver;
+        Gauge.builder("user.feed.subscribers", active, AtomicInteger::get)
+                .description("Assinantes SSE conectados")
+                .register(registry);
+        this.slowDisconnects = Counter.builder("user.feed.slow.disconnects")
+                .description("Assinantes desconectados por não acompanharem o ritmo dos eventos")
+                .register(registry);
+    }
+
+    /**
+     * Assina as alterações do tenant corrente.
+     *
+     * @param lastEventId último offset recebido pelo cliente; nulo para
+     *                    receber apenas os eventos a partir de agora.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        SseEmitter emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        FeedSubscriber subscriber = new FeedSubscriber(this, tenant, emitter, properties);
+        // Offset lido antes de registrar: um evento publicado entre os dois
+        // passos vem pela retomada do outbox (já tem offset gravado), e a
+        // cópia que chegar pela fila é ignorada
+        subscriber.startAfter(lastEventId == null ? latestOffset : lastEventId);
+        subscribers.compute(tenant, (key, set) -> {
+            Set<FeedSubscriber> current = set == null ? ConcurrentHashMap.newKeySet() : set;
+            current.add(subscriber);
+            return current;
+        });
+        active.incrementAndGet();
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        Thread.ofVirtual().name("feed-" + tenant).start(subscriber::run);
+        return emitter;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        subscribers.values().forEach(set -> set.forEach(FeedSubscriber::close));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void publish(String tenant, UserChangeEventDTO event) {
+        latestOffset = event.offset();
+        Set<FeedSubscriber> tenantSubscribers = subscribers.get(tenant);
+        if (tenantSubscribers != null) {
+            tenantSubscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    void setOldestOffset(long offset) {
+        oldestOffset = offset;
+        latestOffset = Math.max(latestOffset, offset - 1);
+    }
+
+    long oldestOffset() {
+        return oldestOffset;
+    }
+
+    List<UserChangeEventDTO> replay(String tenant, long afterOffset) {
+        return repository.findByTenantAndEventOffsetGreaterThanOrderByEventOffsetAsc(tenant, afterOffset,
+                Limit.of(properties.batchSize())).stream().map(ChangeFeed::toEvent).toList();
+    }
+
+    void slowConsumer() {
+        slowDisconnects.increment();
+    }
+
+    void remove(FeedSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.tenant(), (key, set) -> {
+            if (set.remove(subscriber)) {
+                active.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    static UserChangeEventDTO toEvent(UserOutboxEvent event) {
+        return new UserChangeEventDTO(event.getEventOffset(), event.getType().name(), event.getUserId(),
+                event.getCreatedAt(), event.getPayload());
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.project.userService.feed;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.project.userService.config.FeedProperties;
+import br.com.project.userService.dto.UserChangeEventDTO;
+
+/**
+ * Uma conexão SSE. Primeiro reenvia do outbox o que veio depois do
+ * Last-Event-ID; depois entrega os eventos ao vivo da fila, ignorando os
+ * que a retomada já enviou.
+ */
+final class FeedSubscriber {
+
+    private final ChangeFeed feed;
+    private final String tenant;
+    private final SseEmitter emitter;
+    private final BlockingQueue<UserChangeEventDTO> queue;
+    private final long heartbeatMillis;
+    private final int replayBatchSize;
+
+    private volatile boolean closed;
+    private volatile Thread sender;
+    private long lastSent;
+
+    FeedSubscriber(ChangeFeed feed, String tenant, SseEmitter emitter, FeedProperties properties) {
+        this.feed = feed;
+        this.tenant = tenant;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(properties.subscriberBuffer());
+        this.heartbeatMillis = properties.heartbeat().toMillis();
+        this.replayBatchSize = properties.batchSize();
+    }
+
+    String tenant() {
+        return tenant;
+    }
+
+    void startAfter(long offset) {
+        lastSent = offset;
+    }
+
+    void offer(UserChangeEventDTO event) {
+        if (!closed && !queue.offer(event)) {
+            // Política para consumidor lento: desconectar; ele retoma pelo Last-Event-ID
+            feed.slowConsumer();
+            close();
+        }
+    }
+
+    void close() {
+        closed = true;
+        Thread current = sender;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    void run() {
+        sender = Thread.currentThread();
+        try {
+            if (lastSent + 1 < feed.oldestOffset()) {
+                // Os eventos seguintes ao Last-Event-ID já expiraram
+                emitter.send(SseEmitter.event().name("reset").data("resynchronize with GET /userService/users/changes"));
+                return;
+            }
+            List<UserChangeEventDTO> page;
+            do {
+                page = feed.replay(tenant, lastSent);
+                for (UserChangeEventDTO event : page) {
+                    send(event);
+                }
+            } while (page.size() == replayBatchSize && !closed);
+
+            while (!closed) {
+                UserChangeEventDTO event = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else if (event.offset() > lastSent) {
+                    send(event);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou a resposta já foi encerrada
+        } catch (InterruptedException e) {
+            // close(): desconexão pedida
+        } finally {
+            closed = true;
+            feed.remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Já encerrado
+            }
+        }
+    }
+
+    private void send(UserChangeEventDTO event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.offset()))
+                .name("user." + event.type().toLowerCase(Locale.ROOT))
+                .data(event, MediaType.APPLICATION_JSON));
+        lastSent = event.offset();
+    }
+}
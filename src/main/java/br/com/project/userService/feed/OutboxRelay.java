@@ -0,0 +1,188 @@
+package br.com.project.userService.feed;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.project.userService.config.FeedProperties;
+import br.com.project.userService.config.TenancyProperties;
+import br.com.project.userService.domain.UserOutboxEvent;
+import br.com.project.userService.dto.UserChangeEventDTO;
+import br.com.project.userService.repository.UserOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica os eventos pendentes do outbox no {@link ChangeFeed}.
+ *
+ * Uma única thread lê os pendentes em ordem de gravação, atribui offsets
+ * crescentes e confirma; só então entrega aos assinantes. Como o offset é
+ * dado na publicação, e não na gravação, uma transação que confirma mais
+ * tarde nunca fica "atrás" de um offset já entregue, e a retomada por
+ * Last-Event-ID não perde eventos.
+ *
+ * O relay é acordado após cada commit local e, fora isso, consulta o
+ * outbox a cada {@code poll-interval} (gravações de outras origens).
+ * Pressupõe um relay por base: como ele lê apenas a base padrão, no modo
+ * database (uma base por tenant) a aplicação não sobe com o relay ligado
+ * ({@code user-service.feed.relay-enabled=false}).
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private final UserOutboxRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeFeed feed;
+    private final FeedProperties properties;
+    private final TenancyProperties tenancyProperties;
+    private final Timer publishLag;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    // Usado apenas pela thread do relay
+    private long lastOffset;
+
+    public OutboxRelay(UserOutboxRepository repository, PlatformTransactionManager transactionManager,
+            ChangeFeed feed, FeedProperties properties, TenancyProperties tenancyProperties, MeterRegistry registry) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.feed = feed;
+        this.properties = properties;
+        this.tenancyProperties = tenancyProperties;
+        this.publishLag = Timer.builder("user.feed.publish.lag")
+                .description("Tempo entre a gravação do evento e a entrega aos assinantes")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void wakeUp() {
+        if (running) {
+            wakeUps.release();
+        }
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.relayEnabled();
+    }
+
+    @Override
+    public void start() {
+        if (tenancyProperties.mode() == TenancyProperties.Mode.DATABASE) {
+            // As bases dos tenants nunca seriam lidas: o feed ficaria mudo sem aviso
+            throw new IllegalStateException("The outbox relay only reads the default database;"
+                    + " set user-service.feed.relay-enabled=false in database tenancy mode");
+        }
+        lastOffset = repository.findMaxOffset();
+        Long oldest = repository.findMinOffset();
+        feed.setOldestOffset(oldest == null ? lastOffset + 1 : oldest);
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("outbox-relay").start(this::loop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                wakeUps.tryAcquire(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+                while (running && relayBatch() == properties.batchSize()) {
+                    // Backlog: continua sem esperar o próximo ciclo
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Falha ao publicar eventos do outbox; nova tentativa no próximo ciclo", e);
+                resync();
+            }
+        }
+    }
+
+    // Offset em conflito (outro relay na mesma base): recomeça do maior gravado
+    private void resync() {
+        try {
+            lastOffset = repository.findMaxOffset();
+        } catch (RuntimeException e) {
+            log.debug("Base indisponível para ressincronizar o offset do relay", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<Published> published = transactionTemplate.execute(status -> {
+            List<UserOutboxEvent> pending = repository.findPending(Limit.of(properties.batchSize()));
+            long offset = lastOffset;
+            for (UserOutboxEvent event : pending) {
+                // Alteração da entidade gerenciada: UPDATEs em batch no commit
+                event.setEventOffset(++offset);
+            }
+            return pending.stream().map(Published::of).toList();
+        });
+        if (published.isEmpty()) {
+            return 0;
+        }
+        lastOffset = published.getLast().event().offset();
+        Instant now = Instant.now();
+        for (Published event : published) {
+            feed.publish(event.tenant(), event.event());
+            publishLag.record(Duration.between(event.event().at(), now));
+        }
+        return published.size();
+    }
+
+    /**
+     * Remove os eventos publicados mais antigos que a retenção; quem tentar
+     * retomar de antes disso recebe um evento "reset" (ressincronizar via
+     * GET /changes).
+     */
+    @Scheduled(fixedDelayString = "${user-service.feed.purge-interval:10m}",
+            initialDelayString = "${user-service.feed.purge-interval:10m}")
+    public void purge() {
+        int purged = repository.purgePublishedBefore(Instant.now().minus(properties.retention()));
+        if (purged > 0) {
+            Long oldest = repository.findMinOffset();
+            if (oldest != null) {
+                feed.setOldestOffset(oldest);
+            }
+            log.info("{} eventos do outbox expirados foram apagados", purged);
+        }
+    }
+
+    private record Published(String tenant, UserChangeEventDTO event) {
+
+        static Published of(UserOutboxEvent event) {
+            return new Published(event.getTenant(), ChangeFeed.toEvent(event));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.project.userService.feed;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.project.userService.config.TenancyProperties;
+import br.com.project.userService.domain.UserOutboxEvent;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.repository.UserOutboxRepository;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Grava os eventos de alteração de usuário no outbox, dentro da transação
+ * da própria alteração: ou os dois são confirmados, ou nenhum. Após o
+ * commit o {@link OutboxRelay} é acordado para publicar sem esperar o
+ * próximo ciclo.
+ *
+ * No modo database nada é gravado: o relay só lê a base padrão, então os
+ * eventos gravados nas bases dos tenants nunca seriam publicados nem
+ * apagados pela retenção.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final UserOutboxRepository repository;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+    private final TenancyProperties tenancyProperties;
+
+    public void created(List<UserDTO> users) {
+        if (!prepare()) {
+            return;
+        }
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        repository.saveAll(users.stream()
+                .map(user -> new UserOutboxEvent(tenant, user.getId(), UserOutboxEvent.Type.CREATED, toJson(user)))
+                .toList());
+        wakeRelayAfterCommit();
+    }
+
+    public void created(UserDTO user) {
+        created(List.of(user));
+    }
+
+    /**
+     * @param changes apenas o que foi alterado (no PATCH, os campos nulos não mudaram).
+     */
+    public void updated(UserDTO changes) {
+        record(changes.getId(), UserOutboxEvent.Type.UPDATED, toJson(changes));
+    }
+
+    public void updated(List<UserDTO> changes) {
+        if (!prepare()) {
+            return;
+        }
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        repository.saveAll(changes.stream()
+                .map(user -> new UserOutboxEvent(tenant, user.getId(), UserOutboxEvent.Type.UPDATED, toJson(user)))
+                .toList());
+        wakeRelayAfterCommit();
+    }
+
+    public void deleted(long userId) {
+        record(userId, UserOutboxEvent.Type.DELETED, null);
+    }
+
+    private void record(long userId, UserOutboxEvent.Type type, String payload) {
+        if (!prepare()) {
+            return;
+        }
+        repository.save(new UserOutboxEvent(tenantIdentifierResolver.resolveCurrentTenantIdentifier(), userId, type, payload));
+        wakeRelayAfterCommit();
+    }
+
+    // Falso quando o evento não deve ser gravado (modo database)
+    private boolean prepare() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written inside the transaction of the change");
+        }
+        return tenancyProperties.mode() != TenancyProperties.Mode.DATABASE;
+    }
+
+    private void wakeRelayAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.wakeUp();
+            }
+        });
+    }
+
+    private String toJson(UserDTO user) {
+        try {
+            return objectMapper.writeValueAsString(user);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user change event", e);
+        }
+    }
+}
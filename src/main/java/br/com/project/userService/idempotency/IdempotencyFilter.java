@@ -0,0 +1,226 @@
+package br.com.project.userService.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import br.com.project.userService.config.IdempotencyProperties;
+import br.com.project.userService.idempotency.IdempotencyStore.Execution;
+import br.com.project.userService.idempotency.IdempotencyStore.StoredResponse;
+import br.com.project.userService.tenant.TenantContext;
+import br.com.project.userService.tenant.TenantFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Suporte ao header {@code Idempotency-Key} em {@code POST /users}.
+ *
+ * Um cliente que repete a criação após um timeout recebe a resposta
+ * original (201 com o mesmo UserDTO) sem passar pelo validador, pelo BCrypt
+ * nem pelo banco. Repetições simultâneas esperam a primeira execução por até
+ * {@code wait-timeout} (depois, 409). Roda depois do {@link TenantFilter},
+ * então a chave é sempre por tenant; só respostas 2xx são guardadas. O corpo
+ * é lido em memória para o fingerprint, limitado a {@code max-body-size}.
+ */
+@Component
+@Order(IdempotencyFilter.ORDER)
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = TenantFilter.ORDER + 1;
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String USERS_PATH = "/userService/users";
+
+    private final IdempotencyStore store;
+
+    private final IdempotencyProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"POST".equals(request.getMethod())
+                || !USERS_PATH.equals(path)
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (!StringUtils.hasText(key) || key.length() > properties.maxKeyLength()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + HEADER + " header");
+            return;
+        }
+        long maxBodySize = properties.maxBodySize().toBytes();
+        if (request.getContentLengthLong() > maxBodySize) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body exceeds " + maxBodySize + " bytes");
+            return;
+        }
+        // Sem Content-Length (chunked), lê no máximo um byte além do limite
+        byte[] body = request.getInputStream().readNBytes(Math.toIntExact(maxBodySize) + 1);
+        if (body.length > maxBodySize) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body exceeds " + maxBodySize + " bytes");
+            return;
+        }
+        String tenant = TenantContext.current();
+        String fingerprint = fingerprint(body);
+
+        while (true) {
+            Execution execution = new Execution(fingerprint);
+            Execution existing = store.begin(tenant, key, execution);
+            if (existing == null) {
+                execute(tenant, key, execution, new CachedBodyRequest(request, body), response, filterChain);
+                return;
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), HEADER + " was already used with a different request body");
+                return;
+            }
+            StoredResponse stored;
+            try {
+                // A espera ocupa a vaga de concorrência do tenant: não pode ser ilimitada
+                stored = existing.result().get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.waitTimeout().toSeconds())));
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            // A execução anterior falhou e liberou a chave: tenta como dona
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+        }
+    }
+
+    private void execute(String tenant, String key, Execution execution, HttpServletRequest request,
+            HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (status >= 200 && status < 300) {
+                store.complete(execution, new StoredResponse(status, wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.abandon(tenant, key, execution);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Requisição com o corpo já lido (para o fingerprint), relido pelo
+     * conversor JSON do controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // O corpo já está em memória: tudo disponível de imediato
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
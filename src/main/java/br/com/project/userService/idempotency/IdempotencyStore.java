@@ -0,0 +1,87 @@
+package br.com.project.userService.idempotency;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.project.userService.config.IdempotencyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Guarda em memória, por (tenant, Idempotency-Key), a resposta de uma
+ * criação, com TTL e tamanho máximo.
+ *
+ * A entrada é registrada antes da execução: requisições repetidas que
+ * chegam enquanto a primeira ainda executa esperam o mesmo resultado em vez
+ * de validar e fazer hash de novo. As métricas ficam no actuator com o
+ * nome "users.idempotency".
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<Key, Execution> cache;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "users.idempotency");
+    }
+
+    /**
+     * Registra a execução da chave, se ainda não houver uma.
+     *
+     * @return a execução já existente (concluída ou em andamento), ou
+     *         {@code null} se a chamadora passou a ser a dona da chave e deve
+     *         concluir {@code execution} com {@link #complete} ou {@link #abandon}.
+     */
+    Execution begin(String tenant, String idempotencyKey, Execution execution) {
+        Key key = new Key(tenant, idempotencyKey);
+        Execution existing = cache.getIfPresent(key);
+        if (existing != null) {
+            return existing;
+        }
+        return cache.asMap().putIfAbsent(key, execution);
+    }
+
+    void complete(Execution execution, StoredResponse response) {
+        execution.result.complete(response);
+    }
+
+    /**
+     * A execução não gerou uma resposta reaproveitável (erro de validação,
+     * exceção): a chave é liberada e quem esperava executa de novo.
+     */
+    void abandon(String tenant, String idempotencyKey, Execution execution) {
+        cache.asMap().remove(new Key(tenant, idempotencyKey), execution);
+        execution.result.complete(null);
+    }
+
+    /**
+     * Execução de uma chave.
+     *
+     * @param fingerprint hash do corpo da requisição; a mesma chave com outro
+     *                    corpo é um erro do cliente.
+     */
+    record Execution(String fingerprint, CompletableFuture<StoredResponse> result) {
+
+        Execution(String fingerprint) {
+            this(fingerprint, new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Resposta devolvida de novo, byte a byte, para a mesma chave.
+     */
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    private record Key(String tenant, String idempotencyKey) {
+    }
+}
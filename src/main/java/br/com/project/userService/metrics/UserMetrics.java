@@ -0,0 +1,126 @@
+package br.com.project.userService.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import br.com.project.userService.config.UserMetricsProperties;
+import br.com.project.userService.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers (com histograma, para p99 no Prometheus) e contadores do caminho
+ * quente, com tag do tenant corrente.
+ *
+ * <ul>
+ *   <li>{@code user.operation}: operação do UserService (create, update, find...).</li>
+ *   <li>{@code user.stage}: etapa interna (hash, uniqueness-query, insert).</li>
+ *   <li>{@code user.errors}: erros devolvidos ao cliente (not-found, validation, invalid-tenant).</li>
+ *   <li>{@code user.tenant.rejections}: requisições recusadas pelos limites do tenant (429).</li>
+ * </ul>
+ *
+ * Só os primeiros {@code max-tenant-tags} tenants viram tag; os demais
+ * aparecem como "other".
+ */
+@Component
+public class UserMetrics {
+
+    public static final String OPERATION = "user.operation";
+    public static final String STAGE = "user.stage";
+    public static final String ERRORS = "user.errors";
+    public static final String REJECTIONS = "user.tenant.rejections";
+    static final String OTHER_TENANT = "other";
+
+    private final MeterRegistry registry;
+    private final int maxTenantTags;
+    private final Set<String> tenantTags = ConcurrentHashMap.newKeySet();
+
+    public UserMetrics(MeterRegistry registry, UserMetricsProperties properties) {
+        this.registry = registry;
+        this.maxTenantTags = properties.maxTenantTags();
+    }
+
+    public <T> T operation(String operation, Supplier<T> action) {
+        return time(OPERATION, "operation", operation, action);
+    }
+
+    public void operation(String operation, Runnable action) {
+        time(OPERATION, "operation", operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T stage(String stage, Supplier<T> action) {
+        return time(STAGE, "stage", stage, action);
+    }
+
+    public void error(String type) {
+        Counter.builder(ERRORS)
+                .description("Erros devolvidos ao cliente")
+                .tag("type", type)
+                .tag("tenant", tenantTag())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Requisição recusada pela admissão do tenant (antes de o tenant ser
+     * vinculado à requisição, por isso recebido como parâmetro).
+     *
+     * @param reason         limite atingido: rate ou concurrency.
+     * @param operationClass read ou write.
+     */
+    public void rejected(String tenant, String reason, String operationClass) {
+        Counter.builder(REJECTIONS)
+                .description("Requisições recusadas pelos limites do tenant")
+                .tag("reason", reason)
+                .tag("class", operationClass)
+                .tag("tenant", tenantTag(tenant))
+                .register(registry)
+                .increment();
+    }
+
+    private <T> T time(String name, String key, String value, Supplier<T> action) {
+        String tenant = tenantTag();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder(name)
+                    .tag(key, value)
+                    .tag("tenant", tenant)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    String tenantTag() {
+        return tenantTag(TenantContext.current());
+    }
+
+    String tenantTag(String tenant) {
+        if (tenantTags.contains(tenant)) {
+            return tenant;
+        }
+        if (tenantTags.size() < maxTenantTags) {
+            synchronized (tenantTags) {
+                if (tenantTags.contains(tenant) || tenantTags.size() < maxTenantTags) {
+                    tenantTags.add(tenant);
+                    return tenant;
+                }
+            }
+        }
+        return OTHER_TENANT;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.project.userService.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.project.userService.domain.RoleName;
+
+public interface RoleNameRepository extends JpaRepository<RoleName, Long> {
+
+    // Dicionário do tenant corrente (filtro via @TenantId), na ordem dos bits
+    @Transactional(readOnly = true)
+    List<RoleName> findAllByOrderByBitAsc();
+}
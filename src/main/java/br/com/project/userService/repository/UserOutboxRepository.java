@@ -0,0 +1,43 @@
+package br.com.project.userService.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.project.userService.domain.UserOutboxEvent;
+
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEvent, UUID> {
+
+    // Eventos ainda não publicados, na ordem em que foram gravados
+    @Query("select e from UserOutboxEvent e where e.eventOffset is null order by e.createdAt, e.id")
+    List<UserOutboxEvent> findPending(Limit limit);
+
+    // Retomada de um assinante a partir do último offset recebido
+    @Transactional(readOnly = true)
+    List<UserOutboxEvent> findByTenantAndEventOffsetGreaterThanOrderByEventOffsetAsc(String tenant, long eventOffset, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("select coalesce(max(e.eventOffset), 0) from UserOutboxEvent e")
+    long findMaxOffset();
+
+    @Transactional(readOnly = true)
+    @Query("select min(e.eventOffset) from UserOutboxEvent e")
+    Long findMinOffset();
+
+    // Mantém sempre o último evento publicado: é dele que o relay continua
+    // a numeração depois de um restart.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from user_outbox
+             where created_at < :before
+               and event_offset < (select max(event_offset) from user_outbox)""", nativeQuery = true)
+    int purgePublishedBefore(@Param("before") Instant before);
+}
@@ -1,14 +1,166 @@
 package br.com.project.userService.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.project.userService.common.Usernames;
 import br.com.project.userService.domain.UserEntity;
+import jakarta.persistence.LockModeType;
 
 public interface UserRepository extends JpaRepository<UserEntity,Long> {
 
+    // "username_normalized = ?" usa o índice UK_USR_002 (TENANT, username_normalized);
+    // o antigo IgnoreCase gerava upper(username) = upper(?), sem índice.
     @Transactional(readOnly = true)
-    Optional<UserEntity> findByUsernameIgnoreCase(String username);
+    Optional<UserEntity> findByUsernameNormalized(String usernameNormalized);
+
+    default Optional<UserEntity> findByUsernameIgnoreCase(String username) {
+        return findByUsernameNormalized(Usernames.normalize(username));
+    }
+
+    // Paginação por keyset: "id > ?" usa a chave primária, sem OFFSET.
+    // O filtro de tenant é aplicado pelo Hibernate via @TenantId.
+    @Transactional(readOnly = true)
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    // Usuários com um role (máscara de um bit do RoleDictionary), pela máscara
+    // na própria linha: sem junção com nomes de roles. Keyset sobre o id.
+    @Transactional(readOnly = true)
+    @Query("select u from User u where bitand(u.roleMask, cast(:role as Long)) <> 0 and u.id > :afterId order by u.id")
+    List<UserEntity> findByRoleAfter(@Param("role") long role, @Param("afterId") long afterId, Limit limit);
+
+    // Busca por prefixo de username: o intervalo [from, to) percorre o índice
+    // UK_USR_002 (TENANT, username_normalized) e, ordenando pelas mesmas
+    // colunas do índice, a leitura para no limite em vez de ordenar o
+    // intervalo inteiro. O LIKE só confirma o prefixo caso a collation do
+    // banco não seja binária.
+    @Transactional(readOnly = true)
+    @Query("""
+            select u from User u
+             where u.usernameNormalized >= :from and u.usernameNormalized < :to
+               and u.usernameNormalized like :pattern escape '\\'
+             order by u.tenant, u.usernameNormalized""")
+    List<UserEntity> searchByPrefix(@Param("from") String from, @Param("to") String to,
+            @Param("pattern") String pattern, Limit limit);
+
+    // Busca por prefixo com role: o bitand não usa índice, então o intervalo
+    // é lido em blocos pelo mesmo índice, só com [id, username normalizado,
+    // máscara], para o UserService limitar as linhas examinadas. O bloco
+    // seguinte começa depois do último username lido (único no tenant).
+    @Transactional(readOnly = true)
+    @Query("""
+            select u.id, u.usernameNormalized, u.roleMask from User u
+             where u.usernameNormalized >= :from and u.usernameNormalized < :to
+               and u.usernameNormalized like :pattern escape '\\'
+             order by u.tenant, u.usernameNormalized""")
+    List<Object[]> scanPrefix(@Param("from") String from, @Param("to") String to,
+            @Param("pattern") String pattern, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            select u.id, u.usernameNormalized, u.roleMask from User u
+             where u.usernameNormalized > :after and u.usernameNormalized < :to
+               and u.usernameNormalized like :pattern escape '\\'
+             order by u.tenant, u.usernameNormalized""")
+    List<Object[]> scanPrefixAfter(@Param("after") String after, @Param("to") String to,
+            @Param("pattern") String pattern, Limit limit);
+
+    // Verificação de unicidade em lote: devolve, já normalizados, os
+    // usernames da lista que já existem no tenant corrente.
+    @Transactional(readOnly = true)
+    @Query("select u.usernameNormalized from User u where u.usernameNormalized in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // Carga do índice de usernames em memória, paginada por keyset.
+    // Cada linha: [id, username normalizado].
+    @Transactional(readOnly = true)
+    @Query("select u.id, u.usernameNormalized from User u where u.id > :afterId order by u.id")
+    List<Object[]> findNormalizedUsernamesAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Alterações para a sincronização incremental, em ordem de (last_modified, id),
+    // a partir da posição (since, afterId) e até o instante until.
+    @Transactional(readOnly = true)
+    @Query("""
+            select u from User u
+             where (u.lastModified > :since or (u.lastModified = :since and u.id > :afterId))
+               and u.lastModified <= :until
+             order by u.lastModified, u.id""")
+    List<UserEntity> findChangedAfter(@Param("since") Instant since, @Param("afterId") long afterId,
+            @Param("until") Instant until, Limit limit);
+
+    // Atualização em um único comando, restrita ao tenant, incluindo os roles
+    // (máscara). Campos nulos mantêm o valor atual (PATCH). Incrementa a
+    // versão e o last_modified. Devolve o número de linhas afetadas.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update User u
+               set u.username = coalesce(:username, u.username),
+                   u.usernameNormalized = coalesce(:usernameNormalized, u.usernameNormalized),
+                   u.roleMask = coalesce(:roleMask, u.roleMask),
+                   u.version = u.version + 1,
+                   u.lastModified = :now
+             where u.id = :id and u.tenant = :tenant""")
+    int updateUser(@Param("id") long id, @Param("tenant") String tenant,
+            @Param("username") String username, @Param("usernameNormalized") String usernameNormalized,
+            @Param("roleMask") Long roleMask, @Param("now") Instant now);
+
+    // Concessão/revogação em massa: candidatos de um filtro cujo bit do role
+    // ainda está no estado "current" (0 para conceder, o próprio bit para
+    // revogar). Bloqueados (FOR UPDATE) até o UPDATE em conjunto logo depois.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id in :ids and bitand(u.roleMask, cast(:role as Long)) = :current order by u.id")
+    List<UserEntity> findForRoleChangeByIds(@Param("ids") Collection<Long> ids, @Param("role") long role,
+            @Param("current") long current);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select u from User u
+             where u.usernameNormalized like :pattern escape '\\'
+               and bitand(u.roleMask, cast(:role as Long)) = :current and u.id > :afterId
+             order by u.id""")
+    List<UserEntity> findForRoleChangeByPrefix(@Param("pattern") String pattern, @Param("role") long role,
+            @Param("current") long current, @Param("afterId") long afterId, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select u from User u
+             where bitand(u.roleMask, cast(:withRole as Long)) <> 0
+               and bitand(u.roleMask, cast(:role as Long)) = :current and u.id > :afterId
+             order by u.id""")
+    List<UserEntity> findForRoleChangeByRole(@Param("withRole") long withRole, @Param("role") long role,
+            @Param("current") long current, @Param("afterId") long afterId, Limit limit);
+
+    // Um único UPDATE para o bloco: mask = (mask & keep) | add. Conceder usa
+    // keep = -1 e add = bit; revogar usa keep = ~bit e add = 0.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update User u
+               set u.roleMask = bitor(bitand(u.roleMask, cast(:keep as Long)), cast(:add as Long)),
+                   u.version = u.version + 1,
+                   u.lastModified = :now
+             where u.id in :ids and u.tenant = :tenant""")
+    int updateRoleMasks(@Param("ids") Collection<Long> ids, @Param("tenant") String tenant,
+            @Param("keep") long keep, @Param("add") long add, @Param("now") Instant now);
+
+    // Bits de role usados por algum usuário do tenant; só para o reaproveitamento do dicionário
+    @Query(value = "select coalesce(bit_or_agg(role_mask), 0) from users where tenant = :tenant", nativeQuery = true)
+    long findUsedRoleBits(@Param("tenant") String tenant);
+
+    // Remoção em um único comando, restrita ao tenant (os roles estão na própria linha).
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from users where id = :id and tenant = :tenant", nativeQuery = true)
+    int deleteByIdAndTenant(@Param("id") long id, @Param("tenant") String tenant);
 }
@@ -0,0 +1,40 @@
+package br.com.project.userService.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.project.userService.domain.UserTombstone;
+
+public interface UserTombstoneRepository extends JpaRepository<UserTombstone, Long> {
+
+    // INSERT direto: o id é atribuído (o do usuário removido), então o save()
+    // faria um SELECT antes para decidir entre persist e merge.
+    @Transactional
+    @Modifying
+    @Query(value = "insert into user_tombstones (user_id, tenant, deleted_at) values (:userId, :tenant, :deletedAt)", nativeQuery = true)
+    int insert(@Param("userId") long userId, @Param("tenant") String tenant, @Param("deletedAt") Instant deletedAt);
+
+    // Remoções para a sincronização incremental, na mesma ordenação de
+    // UserRepository#findChangedAfter. O filtro de tenant vem do @TenantId.
+    @Transactional(readOnly = true)
+    @Query("""
+            select t from UserTombstone t
+             where (t.deletedAt > :since or (t.deletedAt = :since and t.userId > :afterId))
+               and t.deletedAt <= :until
+             order by t.deletedAt, t.userId""")
+    List<UserTombstone> findDeletedAfter(@Param("since") Instant since, @Param("afterId") long afterId,
+            @Param("until") Instant until, Limit limit);
+
+    // Limpeza da retenção, de todos os tenants (SQL nativo não recebe o filtro de tenant).
+    @Transactional
+    @Modifying
+    @Query(value = "delete from user_tombstones where deleted_at < :before", nativeQuery = true)
+    int purgeDeletedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,133 @@
+package br.com.project.userService.security;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import br.com.project.userService.config.HashingProperties;
+import br.com.project.userService.exception.HashingCapacityExceededException;
+import br.com.project.userService.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executa o hash de senhas no pool dedicado ({@code passwordHashingExecutor}).
+ *
+ * A thread da requisição apenas aguarda o resultado; o custo de CPU do
+ * BCrypt fica confinado ao pool, que tem tamanho e fila limitados. Com o
+ * pool cheio a criação falha rápido com {@link HashingCapacityExceededException}
+ * (429), sem atrasar as demais requisições.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final HashingProperties properties;
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ThreadPoolExecutor executor,
+            HashingProperties properties,
+            MeterRegistry registry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.properties = properties;
+        this.hashTimer = Timer.builder("user.password.hash")
+                .description("Tempo de CPU de um hash BCrypt")
+                .register(registry);
+        this.queueWaitTimer = Timer.builder("user.password.hash.queue.wait")
+                .description("Tempo que o hash aguardou na fila do pool")
+                .register(registry);
+        this.rejected = Counter.builder("user.password.hash.rejected")
+                .description("Hashes recusados por falta de capacidade do pool")
+                .register(registry);
+    }
+
+    public String hash(String rawPassword) {
+        Future<String> future = trySubmit(rawPassword);
+        if (future == null) {
+            throw reject();
+        }
+        return await(future);
+    }
+
+    /**
+     * Calcula vários hashes em paralelo, preservando a ordem da entrada.
+     *
+     * Um lote mantém no máximo uma tarefa por thread do pool em andamento,
+     * para não ocupar a fila inteira e deixar espaço às criações avulsas.
+     * Se a fila estiver cheia, espera as próprias tarefas terminarem antes de
+     * tentar de novo; só recusa se não houver nada seu em andamento.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        String[] hashes = new String[rawPasswords.size()];
+        Deque<Integer> pendingIndexes = new ArrayDeque<>();
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        int window = executor.getMaximumPoolSize();
+
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            if (pending.size() >= window) {
+                hashes[pendingIndexes.poll()] = await(pending.poll());
+            }
+            Future<String> future;
+            while ((future = trySubmit(rawPasswords.get(i))) == null) {
+                if (pending.isEmpty()) {
+                    throw reject();
+                }
+                hashes[pendingIndexes.poll()] = await(pending.poll());
+            }
+            pendingIndexes.add(i);
+            pending.add(future);
+        }
+        while (!pending.isEmpty()) {
+            hashes[pendingIndexes.poll()] = await(pending.poll());
+        }
+        return Arrays.asList(hashes);
+    }
+
+    private Future<String> trySubmit(String rawPassword) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(TenantContext.wrap(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(() -> passwordEncoder.encode(rawPassword));
+            }));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private HashingCapacityExceededException reject() {
+        rejected.increment();
+        return new HashingCapacityExceededException(properties.retryAfter());
+    }
+
+    private String await(Future<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.project.userService.service;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.project.userService.config.ChangesProperties;
+import br.com.project.userService.repository.UserTombstoneRepository;
+import br.com.project.userService.tenant.TenantConnectionProvider;
+import br.com.project.userService.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remove periodicamente as lápides mais antigas que a retenção configurada.
+ *
+ * No modo database cada tenant tem sua base: além da base padrão, a
+ * limpeza passa pela base de cada tenant acessado desde a subida da
+ * aplicação. A base de um tenant que não voltou desde então é limpa na
+ * primeira execução depois do próximo acesso dele.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TombstonePurgeJob {
+
+    private final UserTombstoneRepository tombstoneRepository;
+    private final ChangesProperties properties;
+    private final ObjectProvider<TenantConnectionProvider> tenantConnectionProvider;
+
+    @Scheduled(fixedDelayString = "${user-service.changes.purge-interval:1h}",
+            initialDelayString = "${user-service.changes.purge-interval:1h}")
+    public void purge() {
+        Instant before = Instant.now().minus(properties.tombstoneRetention());
+        // Sem tenant: base compartilhada (modo discriminator) ou base padrão
+        int purged = tombstoneRepository.purgeDeletedBefore(before);
+        TenantConnectionProvider provider = tenantConnectionProvider.getIfAvailable();
+        if (provider != null) {
+            for (String tenant : provider.tenants()) {
+                try {
+                    purged += TenantContext.callAs(tenant, () -> tombstoneRepository.purgeDeletedBefore(before));
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao apagar as lápides expiradas do tenant {}", tenant, e);
+                }
+            }
+        }
+        if (purged > 0) {
+            log.info("{} lápides de usuários removidos expiradas foram apagadas", purged);
+        }
+    }
+}
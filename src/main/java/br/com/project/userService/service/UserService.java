@@ -1,77 +1,613 @@
 package br.com.project.userService.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 // REMOVA a importação do PasswordEncoder
 // import org.springframework.security.crypto.password.PasswordEncoder; 
 // REMOVA a importação do Mapper (Dozer)
 // import com.github.dozermapper.core.Mapper; 
 
+import br.com.project.userService.audit.AuditLog;
+import br.com.project.userService.cache.RoleDictionary;
+import br.com.project.userService.cache.UserCache;
+import br.com.project.userService.cache.UsernameIndex;
+import br.com.project.userService.common.FieldMessage;
+import br.com.project.userService.common.PageCursor;
+import br.com.project.userService.common.SyncWatermark;
+import br.com.project.userService.common.Usernames;
+import br.com.project.userService.common.View;
+import br.com.project.userService.config.ChangesProperties;
+import br.com.project.userService.datasource.ReplicaRoutingDataSource;
 import br.com.project.userService.domain.UserEntity;
+import br.com.project.userService.domain.UserTombstone;
+import br.com.project.userService.dto.BulkItemDTO;
+import br.com.project.userService.dto.BulkResultDTO;
+import br.com.project.userService.dto.ChangesDTO;
+import br.com.project.userService.dto.PageDTO;
+import br.com.project.userService.dto.RoleChangeDTO;
 import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.exception.PayloadTooLargeException;
 import br.com.project.userService.exception.RecordNotFoundException;
+import br.com.project.userService.exception.WatermarkExpiredException;
+import br.com.project.userService.feed.OutboxWriter;
+import br.com.project.userService.metrics.UserMetrics;
 import br.com.project.userService.repository.UserRepository;
+import br.com.project.userService.repository.UserTombstoneRepository;
 import br.com.project.userService.factory.UserFactory; // <-- ADICIONE a importação da Factory
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_SEARCH_SIZE = 20;
+    public static final int MAX_SEARCH_SIZE = 100;
+    // Busca com role: linhas do intervalo do prefixo examinadas no máximo
+    public static final int SEARCH_MAX_SCANNED = 10_000;
+    private static final int SEARCH_SCAN_CHUNK_SIZE = 1000;
+    public static final int STREAM_BATCH_SIZE = 500;
+    public static final int BULK_MAX_ITEMS = 50_000;
+    private static final int BULK_QUERY_CHUNK_SIZE = 1000;
+    private static final int BULK_INSERT_CHUNK_SIZE = 1000;
+    private static final int ROLE_CHANGE_CHUNK_SIZE = 1000;
+    private static final List<String> BULK_VALIDATED_FIELDS = List.of("username", "password", "roles");
+
     private final UserRepository repository;
+    private final UserTombstoneRepository tombstoneRepository;
     private final UserFactory userFactory; // <-- SUBSTITUA o Mapper e o PasswordEncoder pela Factory
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final UsernameIndex usernameIndex;
+    private final UserCache userCache;
+    private final RoleDictionary roleDictionary;
+    private final TenantIdentifierResolver tenantIdentifierResolver;
+    private final UserMetrics metrics;
+    private final ChangesProperties changesProperties;
+    private final OutboxWriter outbox;
+    private final AuditLog audit;
 
     // REMOVA as dependências antigas:
     // private final Mapper mapper;
     // private final PasswordEncoder passwordEncoder;
 
     public UserDTO create(UserDTO dto) {
-        // Use a Factory para encapsular a criação e o hash da senha
-        UserEntity entity = userFactory.createEntityFromDTO(dto);
+        return metrics.operation("create", () -> {
+            // Use a Factory para encapsular a criação e o hash da senha
+            UserEntity entity = userFactory.createEntityFromDTO(dto);
+
+            // O código antigo foi substituído:
+            // UserEntity entity = mapper.map(dto, UserEntity.class);
+            // entity.setId(null); 
+            // entity.setPassword(passwordEncoder.encode(dto.getPassword()));
+
+            // O INSERT e o evento do outbox na mesma transação
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            UserDTO result = metrics.stage("insert", () -> tx.execute(status -> {
+                // Use a Factory para criar o DTO de resposta
+                UserDTO created = userFactory.createDTOFromEntity(repository.save(entity));
+                outbox.created(created);
+                audit.created(created.getId());
+                return created;
+            }));
+            usernameIndex.add(result.getUsername());
+            return result;
+        });
+    }
+
+    /**
+     * Cria vários usuários de uma vez, reportando sucesso ou falha por item.
+     *
+     * Em vez de repetir o fluxo do POST para cada usuário, a unicidade dos
+     * usernames é verificada em uma única consulta por bloco de
+     * {@link #BULK_QUERY_CHUNK_SIZE} nomes, os hashes são calculados em
+     * paralelo e os INSERTs saem em batches JDBC (ids via sequence pooled).
+     * Um item inválido não derruba o restante do lote.
+     *
+     * @param dtos usuários a criar; um elemento nulo representa um item que não
+     *             pôde ser lido (por exemplo, uma linha NDJSON inválida).
+     */
+    public BulkResultDTO bulkCreate(List<UserDTO> dtos) {
+        return metrics.operation("bulk-create", () -> doBulkCreate(dtos));
+    }
+
+    private BulkResultDTO doBulkCreate(List<UserDTO> dtos) {
+        if (dtos.size() > BULK_MAX_ITEMS) {
+            throw new PayloadTooLargeException("Bulk requests accept at most " + BULK_MAX_ITEMS + " users");
+        }
+        BulkItemDTO[] results = new BulkItemDTO[dtos.size()];
 
-        // O código antigo foi substituído:
-        // UserEntity entity = mapper.map(dto, UserEntity.class);
-        // entity.setId(null); 
-        // entity.setPassword(passwordEncoder.encode(dto.getPassword()));
+        // 1. Validação dos campos e duplicidade dentro do próprio lote
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            List<FieldMessage> errors = validateBulkItem(dtos.get(i));
+            if (errors.isEmpty() && candidates.putIfAbsent(Usernames.normalize(dtos.get(i).getUsername()), i) != null) {
+                errors = List.of(new FieldMessage("username", "username duplicated in request"));
+            }
+            if (!errors.isEmpty()) {
+                results[i] = BulkItemDTO.failed(i, errors);
+            }
+        }
+
+        // 2. Unicidade contra o banco, sem uma consulta por usuário; nomes que
+        //    o índice em memória garante não existir nem entram na consulta
+        List<String> names = candidates.keySet().stream().filter(usernameIndex::mightExist).toList();
+        for (int from = 0; from < names.size(); from += BULK_QUERY_CHUNK_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(from + BULK_QUERY_CHUNK_SIZE, names.size()));
+            for (String existing : metrics.stage("uniqueness-query", () -> repository.findExistingUsernames(chunk))) {
+                Integer index = candidates.remove(existing);
+                if (index != null) {
+                    results[index] = BulkItemDTO.failed(index, List.of(new FieldMessage("username", "username already exists")));
+                }
+            }
+        }
+
+        // 3. Hash em paralelo e INSERTs em batch
+        List<Integer> indexes = new ArrayList<>(candidates.values());
+        List<UserEntity> entities = userFactory.createEntitiesFromDTOs(indexes.stream().map(dtos::get).toList());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < entities.size(); from += BULK_INSERT_CHUNK_SIZE) {
+            int to = Math.min(from + BULK_INSERT_CHUNK_SIZE, entities.size());
+            insertBulkChunk(tx, indexes.subList(from, to), entities.subList(from, to), results);
+        }
+        return BulkResultDTO.of(Arrays.asList(results));
+    }
+
+    private List<FieldMessage> validateBulkItem(UserDTO dto) {
+        if (dto == null) {
+            return List.of(new FieldMessage("body", "invalid JSON"));
+        }
+        List<FieldMessage> errors = new ArrayList<>();
+        // Apenas as restrições de campo: a verificação de unicidade (@UserCreate)
+        // é feita em lote pelo próprio bulkCreate.
+        for (String field : BULK_VALIDATED_FIELDS) {
+            validator.validateProperty(dto, field, View.Create.class)
+                    .forEach(v -> errors.add(new FieldMessage(field, v.getMessage())));
+        }
+        return errors;
+    }
+
+    private void insertBulkChunk(TransactionTemplate tx, List<Integer> indexes, List<UserEntity> entities, BulkItemDTO[] results) {
+        try {
+            List<UserDTO> created = metrics.stage("insert", () -> tx.execute(status -> {
+                List<UserDTO> dtos = repository.saveAll(entities).stream().map(userFactory::createDTOFromEntity).toList();
+                outbox.created(dtos);
+                audit.created(dtos.stream().map(UserDTO::getId).toList());
+                return dtos;
+            }));
+            for (int i = 0; i < created.size(); i++) {
+                usernameIndex.add(created.get(i).getUsername());
+                results[indexes.get(i)] = BulkItemDTO.created(indexes.get(i), created.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Outro escritor gravou algum desses usernames depois da verificação:
+            // refaz o bloco item a item para isolar apenas as linhas em conflito.
+            for (int i = 0; i < entities.size(); i++) {
+                int index = indexes.get(i);
+                UserEntity retry = copyForRetry(entities.get(i));
+                try {
+                    UserDTO created = tx.execute(status -> {
+                        UserDTO dto = userFactory.createDTOFromEntity(repository.save(retry));
+                        outbox.created(dto);
+                        audit.created(dto.getId());
+                        return dto;
+                    });
+                    usernameIndex.add(created.getUsername());
+                    results[index] = BulkItemDTO.created(index, created);
+                } catch (DataIntegrityViolationException conflict) {
+                    results[index] = BulkItemDTO.failed(index, List.of(new FieldMessage("username", "username already exists")));
+                }
+            }
+        }
+    }
 
-        UserEntity result = repository.save(entity);
-        
-        // Use a Factory para criar o DTO de resposta
-        return userFactory.createDTOFromEntity(result);
+    // A transação do bloco foi desfeita: a entidade original já recebeu id e
+    // coleção do Hibernate, então a nova tentativa parte de uma cópia limpa.
+    private UserEntity copyForRetry(UserEntity source) {
+        UserEntity copy = new UserEntity();
+        copy.setUsername(source.getUsername());
+        copy.setUsernameNormalized(source.getUsernameNormalized());
+        copy.setPassword(source.getPassword());
+        copy.setRoleMask(source.getRoleMask());
+        return copy;
     }
 
+    /**
+     * Atualização completa (PUT): username e roles. Sem ler a entidade antes:
+     * um único UPDATE restrito ao tenant, com os roles já codificados. A
+     * resposta é a linha relida na mesma transação, com a nova versão (o
+     * ETag) e os roles como ficaram gravados.
+     */
     public UserDTO update(long id, UserDTO source) {
-        UserEntity target = repository.findById(id).orElseThrow(RecordNotFoundException::new);
-        target.setUsername(source.getUsername());
-        target.setRoles(source.getRoles());
         // (Seu código original não atualizava a senha aqui, então mantemos isso)
-        
-        UserEntity result = repository.save(target);
-        
-        // Use a Factory para criar o DTO de resposta
-        return userFactory.createDTOFromEntity(result);
+        return metrics.operation("update", () -> applyChanges(id, source.getUsername(), source.getRoles(), true));
+    }
+
+    /**
+     * Atualização parcial (PATCH): apenas os campos não nulos do DTO.
+     */
+    public void patch(long id, UserDTO source) {
+        metrics.operation("patch", () -> applyChanges(id, source.getUsername(), source.getRoles(), false));
+    }
+
+    private UserDTO applyChanges(long id, String username, List<String> roles, boolean reread) {
+        // Roles novos são registrados antes da transação do UPDATE: o registro
+        // tem transação própria e não deve segurar uma segunda conexão
+        Long roleMask = roles == null ? null : roleDictionary.encode(roles);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // O número de linhas afetadas confirma que o id existe no tenant
+            int updated = repository.updateUser(id, tenantIdentifierResolver.resolveCurrentTenantIdentifier(),
+                    username, Usernames.normalize(username), roleMask, Instant.now());
+            if (updated == 0) {
+                throw new RecordNotFoundException();
+            }
+            usernameIndex.add(username);
+            userCache.evict(id);
+
+            UserDTO changes = new UserDTO();
+            changes.setId(id);
+            changes.setUsername(username);
+            changes.setRoles(roleMask == null ? null : roleDictionary.decode(roleMask));
+            outbox.updated(changes);
+            audit.updated(id);
+            return reread ? userFactory.createDTOFromEntity(repository.findById(id).orElseThrow(RecordNotFoundException::new)) : null;
+        });
+    }
+
+    /**
+     * Concede o role a todos os usuários do tenant que atendem ao filtro,
+     * em comandos por conjunto: para cada bloco de até
+     * {@link #ROLE_CHANGE_CHUNK_SIZE} usuários, um SELECT dos que ainda não
+     * têm o role e um único UPDATE da máscara. Tudo em uma transação, aberta
+     * depois de registrar o role (se ainda não existe no tenant).
+     *
+     * @return quantos usuários passaram a ter o role.
+     */
+    public int grantRole(RoleChangeDTO request) {
+        return metrics.operation("role-grant", () -> {
+            long role = roleDictionary.encode(List.of(request.role()));
+            return new TransactionTemplate(transactionManager).execute(status -> changeRoleMask(request, role, 0L, -1L, role));
+        });
+    }
+
+    /**
+     * Revoga o role dos usuários do tenant que atendem ao filtro; mesma
+     * estratégia de {@link #grantRole(RoleChangeDTO)}, sem abrir transação
+     * quando o role não existe no tenant.
+     *
+     * @return quantos usuários deixaram de ter o role.
+     */
+    public int revokeRole(RoleChangeDTO request) {
+        return metrics.operation("role-revoke", () -> {
+            long role = roleDictionary.maskOf(request.role());
+            if (role == 0L) {
+                return 0;
+            }
+            return new TransactionTemplate(transactionManager).execute(status -> changeRoleMask(request, role, role, ~role, 0L));
+        });
+    }
+
+    // current: estado do bit nos usuários que vão mudar; a nova máscara é (mask & keep) | add
+    private int changeRoleMask(RoleChangeDTO request, long role, long current, long keep, long add) {
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            List<Long> ids = request.ids().stream().distinct().toList();
+            int affected = 0;
+            for (int from = 0; from < ids.size(); from += ROLE_CHANGE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + ROLE_CHANGE_CHUNK_SIZE, ids.size()));
+                affected += applyRoleMask(repository.findForRoleChangeByIds(chunk, role, current), keep, add);
+            }
+            return affected;
+        }
+        if (request.usernamePrefix() != null && !request.usernamePrefix().isEmpty()) {
+            String pattern = Usernames.prefixPattern(request.usernamePrefix());
+            return changeRoleMaskByKeyset(afterId -> repository.findForRoleChangeByPrefix(pattern, role, current,
+                    afterId, Limit.of(ROLE_CHANGE_CHUNK_SIZE)), keep, add);
+        }
+        long withRole = roleDictionary.maskOf(request.withRole());
+        if (withRole == 0L) {
+            return 0;
+        }
+        return changeRoleMaskByKeyset(afterId -> repository.findForRoleChangeByRole(withRole, role, current,
+                afterId, Limit.of(ROLE_CHANGE_CHUNK_SIZE)), keep, add);
+    }
+
+    private int changeRoleMaskByKeyset(LongFunction<List<UserEntity>> chunkAfter, long keep, long add) {
+        int affected = 0;
+        long afterId = 0L;
+        List<UserEntity> chunk;
+        do {
+            chunk = chunkAfter.apply(afterId);
+            affected += applyRoleMask(chunk, keep, add);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.getLast().getId();
+            }
+        } while (chunk.size() == ROLE_CHANGE_CHUNK_SIZE);
+        return affected;
+    }
+
+    private int applyRoleMask(List<UserEntity> users, long keep, long add) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = users.stream().map(UserEntity::getId).toList();
+        int updated = repository.updateRoleMasks(ids, tenantIdentifierResolver.resolveCurrentTenantIdentifier(),
+                keep, add, Instant.now());
+
+        // Um evento por usuário, com a lista de roles resultante
+        outbox.updated(users.stream().map(user -> {
+            UserDTO changes = new UserDTO();
+            changes.setId(user.getId());
+            changes.setRoles(roleDictionary.decode((user.getRoleMask() & keep) | add));
+            return changes;
+        }).toList());
+        audit.updated(ids);
+        userCache.evictAll(ids);
+        return updated;
     }
 
     public void delete(long id) {
-        UserEntity entity = repository.findById(id).orElseThrow(RecordNotFoundException::new);
-        repository.delete(entity);
+        metrics.operation("delete", () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> deleteById(id)));
+    }
+
+    private void deleteById(long id) {
+        String tenant = tenantIdentifierResolver.resolveCurrentTenantIdentifier();
+        int deleted = repository.deleteByIdAndTenant(id, tenant);
+        if (deleted == 0) {
+            throw new RecordNotFoundException();
+        }
+        // Lápide para quem sincroniza por GET /changes
+        tombstoneRepository.insert(id, tenant, Instant.now());
+        outbox.deleted(id);
+        audit.deleted(id);
+        userCache.evict(id);
     }
 
     public UserDTO findById(long id) {
-        UserEntity result = repository.findById(id).orElseThrow(RecordNotFoundException::new);
-        
-        // Use a Factory para criar o DTO de resposta
-        return userFactory.createDTOFromEntity(result);
+        return findById(id, true);
+    }
+
+    /**
+     * Busca pelo cache (tenant, id); em caso de falta carrega do banco em
+     * uma transação somente leitura. Um acerto não abre transação nem
+     * conexão. A carga que alimenta o cache lê do primário: o DTO é servido
+     * a todos os clientes até expirar, inclusive a quem acabou de escrever.
+     *
+     * @param includeRoles se falso, a máscara de roles não é decodificada
+     *                     e o resultado não entra no cache.
+     */
+    public UserDTO findById(long id, boolean includeRoles) {
+        return metrics.operation("find", () -> {
+            if (includeRoles) {
+                return userCache.get(id, () -> ReplicaRoutingDataSource.callOnPrimary("cache-load", () -> loadById(id, true)));
+            }
+            UserDTO cached = userCache.getIfPresent(id);
+            return cached != null ? withoutRoles(cached) : loadById(id, false);
+        });
+    }
+
+    private UserDTO loadById(long id, boolean includeRoles) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            UserEntity result = repository.findById(id).orElseThrow(RecordNotFoundException::new);
+
+            // Use a Factory para criar o DTO de resposta
+            return userFactory.createDTOFromEntity(result, includeRoles);
+        });
+    }
+
+    // O DTO do cache é compartilhado: devolve uma cópia sem os roles
+    private UserDTO withoutRoles(UserDTO cached) {
+        UserDTO dto = new UserDTO();
+        dto.setId(cached.getId());
+        dto.setUsername(cached.getUsername());
+        dto.setVersion(cached.getVersion());
+        return dto;
+    }
+
+    /**
+     * Lista uma página de usuários do tenant corrente usando keyset sobre o id.
+     *
+     * @param cursor token opaco devolvido pela página anterior (nulo na primeira).
+     * @param limit  tamanho da página; limitado a {@link #MAX_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public PageDTO<UserDTO> findPage(String cursor, int limit) {
+        return findPage(cursor, limit, null);
+    }
+
+    /**
+     * Variante filtrada pelos usuários que têm o role informado. O filtro é
+     * feito sobre a máscara de roles de cada linha; um role que o tenant não
+     * conhece devolve uma página vazia sem consultar os usuários.
+     *
+     * @param role nome do role; nulo para não filtrar.
+     */
+    @Transactional(readOnly = true)
+    public PageDTO<UserDTO> findPage(String cursor, int limit, String role) {
+        return metrics.operation("page", () -> {
+            long afterId = PageCursor.decode(cursor);
+            int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+            long roleMask = role == null ? 0L : roleDictionary.maskOf(role);
+            if (role != null && roleMask == 0L) {
+                return new PageDTO<>(List.<UserDTO>of(), null);
+            }
+            List<UserEntity> entities = role == null
+                    ? repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size))
+                    : repository.findByRoleAfter(roleMask, afterId, Limit.of(size));
+            List<UserDTO> dtos = entities.stream()
+                    // Use a Factory (com method reference) para o "map"
+                    .map(userFactory::createDTOFromEntity)
+                    .toList();
+            String next = entities.size() < size ? null : PageCursor.encode(entities.getLast().getId());
+            return new PageDTO<>(dtos, next);
+        });
+    }
+
+    /**
+     * Busca usuários do tenant corrente cujo username começa com o prefixo
+     * (sem diferenciar maiúsculas), em ordem de username, opcionalmente só
+     * os que têm o role. Percorre o índice do username normalizado a partir
+     * do prefixo e para no limite, sem depender do tamanho do tenant. Com
+     * role, examina no máximo {@link #SEARCH_MAX_SCANNED} usuários do
+     * intervalo: um role raro num prefixo amplo pode trazer menos que o limite.
+     *
+     * @param limit máximo de resultados; limitado a {@link #MAX_SEARCH_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDTO> search(String prefix, String role, int limit) {
+        return metrics.operation("search", () -> {
+            String from = Usernames.normalize(prefix == null ? "" : prefix);
+            String to = Usernames.prefixUpperBound(from);
+            String pattern = Usernames.prefixPattern(from);
+            Limit size = Limit.of(Math.clamp(limit, 1, MAX_SEARCH_SIZE));
+            List<UserEntity> found;
+            if (role == null) {
+                found = repository.searchByPrefix(from, to, pattern, size);
+            } else {
+                long roleMask = roleDictionary.maskOf(role);
+                found = roleMask == 0L ? List.of() : searchWithRole(from, to, pattern, roleMask, size.max());
+            }
+            return found.stream().map(userFactory::createDTOFromEntity).toList();
+        });
+    }
+
+    // Lê o intervalo em blocos pelo índice, filtra o role pela máscara e para
+    // ao completar o limite ou ao atingir SEARCH_MAX_SCANNED linhas; só então
+    // carrega as entidades encontradas, na ordem do username.
+    private List<UserEntity> searchWithRole(String from, String to, String pattern, long roleMask, int size) {
+        List<Long> ids = new ArrayList<>(size);
+        int scanned = 0;
+        List<Object[]> chunk = repository.scanPrefix(from, to, pattern, Limit.of(SEARCH_SCAN_CHUNK_SIZE));
+        while (true) {
+            for (Object[] row : chunk) {
+                if (((Long) row[2] & roleMask) != 0 && ids.size() < size) {
+                    ids.add((Long) row[0]);
+                }
+            }
+            scanned += chunk.size();
+            if (ids.size() == size || chunk.size() < SEARCH_SCAN_CHUNK_SIZE || scanned >= SEARCH_MAX_SCANNED) {
+                break;
+            }
+            chunk = repository.scanPrefixAfter((String) chunk.getLast()[1], to, pattern, Limit.of(SEARCH_SCAN_CHUNK_SIZE));
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserEntity> byId = new LinkedHashMap<>();
+        repository.findAllById(ids).forEach(user -> byId.put(user.getId(), user));
+        // Removido entre a leitura do índice e a carga: fica de fora
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Alterações do tenant corrente desde o watermark: usuários criados ou
+     * alterados (estado atual) e ids removidos, em ordem de alteração.
+     *
+     * Alterações dos últimos {@code settle-time} ficam para a próxima chamada,
+     * para não serem puladas por uma transação que confirme depois. Quando
+     * tudo foi entregue, o watermark avança até esse limite mesmo sem
+     * alterações, então um cliente que consulta sempre não expira.
+     *
+     * @param since watermark devolvido pela chamada anterior (nulo na primeira).
+     * @param limit máximo de alterações; limitado a {@link #MAX_PAGE_SIZE}.
+     */
+    public ChangesDTO findChanges(String since, int limit) {
+        return metrics.operation("changes", () -> {
+            SyncWatermark from = SyncWatermark.decode(since);
+            Instant now = Instant.now();
+            if (!from.equals(SyncWatermark.START) && from.at().isBefore(now.minus(changesProperties.tombstoneRetention()))) {
+                throw new WatermarkExpiredException();
+            }
+            Instant until = now.minus(changesProperties.settleTime());
+            int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            return readOnly.execute(status -> {
+                List<UserEntity> users = repository.findChangedAfter(from.at(), from.id(), until, Limit.of(size));
+                List<UserTombstone> tombstones = tombstoneRepository.findDeletedAfter(from.at(), from.id(), until, Limit.of(size));
+
+                // Intercala as duas listas pela ordem (instante, id) até o limite
+                List<UserDTO> upserts = new ArrayList<>();
+                List<Long> deletes = new ArrayList<>();
+                SyncWatermark last = from;
+                int u = 0;
+                int t = 0;
+                while (u + t < size && (u < users.size() || t < tombstones.size())) {
+                    if (t == tombstones.size() || (u < users.size() && !isAfter(users.get(u), tombstones.get(t)))) {
+                        UserEntity user = users.get(u++);
+                        upserts.add(userFactory.createDTOFromEntity(user));
+                        last = new SyncWatermark(user.getLastModified(), user.getId());
+                    } else {
+                        UserTombstone tombstone = tombstones.get(t++);
+                        deletes.add(tombstone.getUserId());
+                        last = new SyncWatermark(tombstone.getDeletedAt(), tombstone.getUserId());
+                    }
+                }
+                boolean hasMore = u < users.size() || t < tombstones.size()
+                        || users.size() == size || tombstones.size() == size;
+                if (!hasMore) {
+                    last = new SyncWatermark(until, Long.MAX_VALUE);
+                }
+                return new ChangesDTO(upserts, deletes, last.encode(), hasMore);
+            });
+        });
+    }
+
+    private static boolean isAfter(UserEntity user, UserTombstone tombstone) {
+        int byTime = user.getLastModified().compareTo(tombstone.getDeletedAt());
+        return byTime > 0 || (byTime == 0 && user.getId() > tombstone.getUserId());
     }
 
-    public Iterable<UserDTO> findAll() {
-        List<UserEntity> entities = repository.findAll();
-        List<UserDTO> dtos = entities.stream()
-                // Use a Factory (com method reference) para o "map"
-                .map(userFactory::createDTOFromEntity) 
-                .toList();
-        return dtos;
+    /**
+     * Percorre todos os usuários do tenant corrente como DTOs; ver
+     * {@link #forEachUserRow(Consumer)}.
+     */
+    public void forEachUser(Consumer<UserDTO> consumer) {
+        forEachUserRow(entity -> consumer.accept(userFactory.createDTOFromEntity(entity)));
+    }
+
+    /**
+     * Percorre todos os usuários do tenant corrente em lotes de
+     * {@link #STREAM_BATCH_SIZE}, entregando cada entidade ao consumidor,
+     * que pode escrevê-la direto na saída sem montar DTOs.
+     * Apenas um lote fica em memória por vez e cada lote usa uma
+     * transação curta, sem segurar a conexão durante toda a escrita.
+     */
+    public void forEachUserRow(Consumer<UserEntity> consumer) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long afterId = 0L;
+        List<UserEntity> batch;
+        do {
+            long from = afterId;
+            batch = readOnly.execute(status -> repository
+                    .findByIdGreaterThanOrderByIdAsc(from, Limit.of(STREAM_BATCH_SIZE)));
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                afterId = batch.getLast().getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package br.com.project.userService.tenant;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.project.userService.config.RateLimitProperties;
+import br.com.project.userService.config.TenancyProperties;
+import br.com.project.userService.metrics.UserMetrics;
+
+/**
+ * Admissão de requisições por tenant: um token bucket por classe de
+ * operação (leitura/escrita) e um limite de requisições simultâneas.
+ *
+ * O caminho de uma requisição admitida não usa locks: o estado do tenant
+ * vem de um cache concorrente e os limites são atualizados por CAS. Um
+ * tenant que estoura os limites recebe 429 sem ocupar as threads de
+ * requisição nem o pool de BCrypt dos demais.
+ */
+@Component
+public class TenantAdmission {
+
+    private static final Admission ADMITTED = new Admission(null, null, 0);
+
+    private final RateLimitProperties properties;
+    private final UserMetrics metrics;
+    private final Pattern tenantPattern;
+    private final boolean databasePerTenant;
+    private final Cache<String, TenantState> tenants;
+
+    public TenantAdmission(RateLimitProperties properties, TenancyProperties tenancy, UserMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.tenantPattern = Pattern.compile(properties.tenantPattern());
+        this.databasePerTenant = tenancy.mode() == TenancyProperties.Mode.DATABASE;
+        this.tenants = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                .maximumSize(properties.maxTenants())
+                .build();
+    }
+
+    /**
+     * No modo database o tenant também precisa caber na URL JDBC: um
+     * identificador recusado pelo {@link TenantConnectionProvider} vira 400
+     * aqui, não um erro na abertura do pool.
+     */
+    public boolean isValidTenant(String tenant) {
+        return tenantPattern.matcher(tenant).matches()
+                && (!databasePerTenant || TenantConnectionProvider.isValidTenant(tenant));
+    }
+
+    /**
+     * Tenta admitir uma requisição do tenant. A admissão deve ser fechada
+     * ao fim da requisição para liberar a vaga de concorrência.
+     *
+     * @param method método HTTP; GET, HEAD e OPTIONS são leituras.
+     */
+    public Admission admit(String tenant, String method) {
+        if (!properties.enabled()) {
+            return ADMITTED;
+        }
+        TenantState state = tenants.get(tenant, key -> new TenantState(properties.limitsFor(key), System.nanoTime()));
+        boolean write = isWrite(method);
+        String operationClass = write ? "write" : "read";
+
+        // A vaga de concorrência vem antes da ficha, para que uma recusa por
+        // concorrência não gaste o bucket
+        if (state.inFlight.incrementAndGet() > state.maxConcurrent) {
+            state.inFlight.decrementAndGet();
+            metrics.rejected(tenant, "concurrency", operationClass);
+            return new Admission(null, "concurrency", 1);
+        }
+        long wait = (write ? state.writes : state.reads).tryAcquire(System.nanoTime());
+        if (wait > 0) {
+            state.inFlight.decrementAndGet();
+            metrics.rejected(tenant, "rate", operationClass);
+            return new Admission(null, "rate", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L)));
+        }
+        return new Admission(state, null, 0);
+    }
+
+    long trackedTenants() {
+        tenants.cleanUp();
+        return tenants.estimatedSize();
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static final class TenantState {
+
+        private final TokenBucket reads;
+        private final TokenBucket writes;
+        private final int maxConcurrent;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private TenantState(RateLimitProperties.Limits limits, long now) {
+            this.reads = new TokenBucket(limits.readsPerSecond(), limits.readBurst(), now);
+            this.writes = new TokenBucket(limits.writesPerSecond(), limits.writeBurst(), now);
+            this.maxConcurrent = limits.maxConcurrent();
+        }
+    }
+
+    /**
+     * Resultado da admissão. Se recusada, {@link #rejection()} diz o limite
+     * atingido e {@link #retryAfterSeconds()} vai no header Retry-After.
+     */
+    public static final class Admission implements AutoCloseable {
+
+        private final TenantState state;
+        private final String rejection;
+        private final long retryAfterSeconds;
+
+        private Admission(TenantState state, String rejection, long retryAfterSeconds) {
+            this.state = state;
+            this.rejection = rejection;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public boolean admitted() {
+            return rejection == null;
+        }
+
+        public String rejection() {
+            return rejection;
+        }
+
+        public long retryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        @Override
+        public void close() {
+            if (state != null) {
+                state.inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.project.userService.tenant;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.project.userService.config.TenancyProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modo opcional de isolamento físico: cada tenant usa sua própria base (ou
+ * schema), com um pool de conexões criado no primeiro acesso.
+ *
+ * Ativado com {@code user-service.tenancy.mode=database}; sem isso vale o
+ * discriminador @TenantId em uma base compartilhada. A base nova recebe o
+ * esquema pelas migrações do Flyway (db/migration). Pools ociosos por mais
+ * que {@code idle-pool-timeout} são fechados e recriados sob demanda.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user-service.tenancy", name = "mode", havingValue = "database")
+public class TenantConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String>
+        implements HibernatePropertiesCustomizer, DisposableBean {
+
+    // O identificador vai para a URL JDBC: apenas caracteres seguros
+    private static final Pattern VALID_TENANT = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final transient DataSource defaultDataSource;
+    private final transient TenancyProperties properties;
+    private final transient Map<String, TenantPool> pools = new ConcurrentHashMap<>();
+    private final transient Set<String> tenants = ConcurrentHashMap.newKeySet();
+    private final transient ScheduledExecutorService evictor;
+
+    /**
+     * Formato aceito para um tenant com base própria; mais restrito que o
+     * {@code tenant-pattern} da admissão, que o aplica nesse modo.
+     */
+    public static boolean isValidTenant(String tenant) {
+        return VALID_TENANT.matcher(tenant).matches();
+    }
+
+    public TenantConnectionProvider(DataSource defaultDataSource, TenancyProperties properties) {
+        this.defaultDataSource = defaultDataSource;
+        this.properties = properties;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("tenant-pool-evictor").factory());
+        long period = Math.max(1, properties.idlePoolTimeout().toSeconds() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdlePools, period, period, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, this);
+    }
+
+    // Usada pelo Hibernate fora de uma requisição (metadados, schema da base padrão)
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return defaultDataSource;
+    }
+
+    @Override
+    protected DataSource selectDataSource(String tenant) {
+        if (TenantContext.UNKNOWN.equals(tenant)) {
+            return defaultDataSource;
+        }
+        return pool(tenant).dataSource();
+    }
+
+    @Override
+    public Connection getConnection(String tenant) throws SQLException {
+        if (TenantContext.UNKNOWN.equals(tenant)) {
+            return defaultDataSource.getConnection();
+        }
+        TenantPool pool = pool(tenant);
+        try {
+            return pool.dataSource().getConnection();
+        } catch (SQLException e) {
+            // O pool pode ter sido fechado pelo evictor entre a busca e o uso
+            if (pool.dataSource().isClosed()) {
+                return pool(tenant).dataSource().getConnection();
+            }
+            throw e;
+        }
+    }
+
+    private TenantPool pool(String tenant) {
+        TenantPool pool = pools.computeIfAbsent(tenant, this::createPool);
+        pool.touch();
+        return pool;
+    }
+
+    private TenantPool createPool(String tenant) {
+        if (!isValidTenant(tenant)) {
+            throw new IllegalArgumentException("Invalid tenant identifier for database isolation: " + tenant);
+        }
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("tenant-" + tenant);
+        config.setJdbcUrl(properties.urlTemplate().replace("{tenant}", tenant));
+        config.setUsername(properties.username());
+        config.setPassword(properties.password());
+        config.setMaximumPoolSize(properties.poolSizeFor(tenant));
+        config.setMinimumIdle(0);
+        String schema = properties.schemaTemplate() == null ? null : properties.schemaTemplate().replace("{tenant}", tenant);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        try {
+            var flyway = Flyway.configure().dataSource(dataSource);
+            if (schema != null) {
+                flyway.schemas(schema);
+            }
+            flyway.load().migrate();
+            if (schema != null) {
+                // Só após a migração: o Flyway cria o schema no primeiro uso
+                dataSource.setSchema(schema);
+                dataSource.getHikariPoolMXBean().softEvictConnections();
+            }
+        } catch (RuntimeException e) {
+            dataSource.close();
+            throw e;
+        }
+        log.info("Pool de conexões criado para o tenant {} ({} conexões)", tenant, config.getMaximumPoolSize());
+        tenants.add(tenant);
+        return new TenantPool(dataSource);
+    }
+
+    /**
+     * Fecha os pools sem uso há mais que o tempo configurado e sem conexões
+     * emprestadas. O próximo acesso do tenant cria um pool novo.
+     */
+    void evictIdlePools() {
+        long now = System.nanoTime();
+        long idleNanos = properties.idlePoolTimeout().toNanos();
+        pools.forEach((tenant, pool) -> {
+            if (now - pool.lastUsed > idleNanos
+                    && pool.dataSource().getHikariPoolMXBean().getActiveConnections() == 0
+                    && pools.remove(tenant, pool)) {
+                pool.dataSource().close();
+                log.info("Pool de conexões ocioso do tenant {} fechado", tenant);
+            }
+        });
+    }
+
+    /**
+     * Tenants cuja base foi acessada desde a subida da aplicação, com o
+     * pool ainda aberto ou já fechado por ociosidade.
+     */
+    public Set<String> tenants() {
+        return Set.copyOf(tenants);
+    }
+
+    int openPools() {
+        return pools.size();
+    }
+
+    @Override
+    public void destroy() {
+        evictor.shutdownNow();
+        pools.values().forEach(pool -> pool.dataSource().close());
+        pools.clear();
+    }
+
+    private static final class TenantPool {
+        private final HikariDataSource dataSource;
+        private volatile long lastUsed = System.nanoTime();
+
+        private TenantPool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        private void touch() {
+            lastUsed = System.nanoTime();
+        }
+    }
+}
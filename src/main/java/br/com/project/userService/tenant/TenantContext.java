@@ -0,0 +1,50 @@
+package br.com.project.userService.tenant;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Tenant da requisição corrente, guardado em um {@link ScopedValue}.
+ *
+ * O {@link TenantFilter} faz o binding durante toda a cadeia de filtros; o
+ * valor é imutável e some ao fim do escopo, então não vaza entre
+ * requisições nem entre threads (inclusive virtuais). Trabalho entregue a
+ * outras threads deve passar por {@link #wrap(Callable)} / {@link #wrap(Runnable)}
+ * para enxergar o mesmo tenant.
+ */
+public final class TenantContext {
+
+    public static final String UNKNOWN = "unknown";
+
+    private static final ScopedValue<String> CURRENT = ScopedValue.newInstance();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return o tenant do escopo corrente, ou {@link #UNKNOWN} fora de uma requisição.
+     */
+    public static String current() {
+        return CURRENT.orElse(UNKNOWN);
+    }
+
+    public static <R, X extends Throwable> R callAs(String tenant, ScopedValue.CallableOp<? extends R, X> op) throws X {
+        return ScopedValue.where(CURRENT, tenant).call(op);
+    }
+
+    public static void runAs(String tenant, Runnable op) {
+        ScopedValue.where(CURRENT, tenant).run(op);
+    }
+
+    /**
+     * Captura o tenant corrente e o restaura quando a tarefa rodar em outra thread.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        String tenant = current();
+        return () -> callAs(tenant, task::call);
+    }
+
+    public static Runnable wrap(Runnable task) {
+        String tenant = current();
+        return () -> runAs(tenant, task);
+    }
+}
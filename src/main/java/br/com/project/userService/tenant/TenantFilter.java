@@ -2,11 +2,16 @@ package br.com.project.userService.tenant;
 
 import java.io.IOException;
 
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import br.com.project.userService.metrics.UserMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,25 +19,65 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @Component
+@Order(TenantFilter.ORDER)
 @RequiredArgsConstructor
 public class TenantFilter extends OncePerRequestFilter  {
 
-    private final TenantIdentifierResolver tenantIdentifierResolver;
-    
+    // Depois da segurança; filtros que dependem do tenant vêm logo em seguida
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private final TenantAdmission admission;
+
+    private final UserMetrics metrics;
+
+    // Dispatches assíncronos (streaming, CompletableFuture) rodam em outra
+    // thread e precisam do tenant vinculado de novo
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         
         // Get tenant from header "x-tenant"
         String tenant = request.getHeader("x-tenant");
-        if(!StringUtils.hasText(tenant)){
+        if(!StringUtils.hasText(tenant) || !admission.isValidTenant(tenant)){
+            metrics.error("invalid-tenant");
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Missing or unknown tenant");
             return;
         }
-        tenantIdentifierResolver.setCurrentTenant(tenant);
 
-        // Proceed with the next filter in the chain
-        filterChain.doFilter(request, response);
+        // O dispatch assíncrono continua uma requisição já admitida
+        if (isAsyncDispatch(request)) {
+            doFilterAs(tenant, request, response, filterChain);
+            return;
+        }
+        try (TenantAdmission.Admission admitted = admission.admit(tenant, request.getMethod())) {
+            if (!admitted.admitted()) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admitted.retryAfterSeconds()));
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Tenant " + admitted.rejection() + " limit exceeded");
+                return;
+            }
+            doFilterAs(tenant, request, response, filterChain);
+        }
+    }
+
+    private void doFilterAs(String tenant, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Proceed with the next filter in the chain, with the tenant bound
+        // to this request's scope only
+        try {
+            TenantContext.callAs(tenant, () -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
     }
 
 }
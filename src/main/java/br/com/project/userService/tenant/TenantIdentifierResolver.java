@@ -8,22 +8,19 @@ import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomi
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import lombok.Setter;
-
 @Component
 public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
 
-    @Setter
-    private String currentTenant = "unknown";
-
     @Override
     public void customize(Map<String, Object> hibernateProperties) {
         hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
     }
 
+    // O tenant vem do ScopedValue da requisição (TenantContext), não de um
+    // campo deste singleton: requisições concorrentes não se enxergam.
     @Override
     public @NonNull String resolveCurrentTenantIdentifier() {
-        return currentTenant;
+        return TenantContext.current();
     }
 
     @Override
@@ -0,0 +1,38 @@
+package br.com.project.userService.tenant;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket no formato GCRA: todo o estado é um instante teórico de
+ * chegada (TAT), atualizado por CAS. Sem locks e sem thread de reposição.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        this.intervalNanos = Math.max(1L, Math.round(1_000_000_000d / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * Math.max(1, burst);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 se a requisição foi admitida; senão, quantos nanossegundos
+     *         faltam para haver uma ficha disponível.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -3,8 +3,10 @@ package br.com.project.userService.validation;
 import java.util.ArrayList;
 import java.util.List;
 
+import br.com.project.userService.cache.UsernameIndex;
 import br.com.project.userService.common.FieldMessage;
 import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.metrics.UserMetrics;
 import br.com.project.userService.repository.UserRepository;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -15,14 +17,20 @@ public class UserCreateImpl implements ConstraintValidator<UserCreate, UserDTO>
 
     private final UserRepository repository;
 
+    private final UsernameIndex usernameIndex;
+
+    private final UserMetrics metrics;
+
     @Override
     public boolean isValid(UserDTO value, ConstraintValidatorContext context) {
 		
         List<FieldMessage> list = new ArrayList<FieldMessage>();
 		
-		//Check Code
-		var result = repository.findByUsernameIgnoreCase(value.getUsername());
-		if(result.isPresent()) list.add(new FieldMessage("username", "username already exists"));
+		//Check Code (o índice em memória evita a consulta quando o nome certamente não existe)
+		if(usernameIndex.mightExist(value.getUsername())) {
+			var result = metrics.stage("uniqueness-query", () -> repository.findByUsernameIgnoreCase(value.getUsername()));
+			if(result.isPresent()) list.add(new FieldMessage("username", "username already exists"));
+		}
 
 		list.stream().forEach(e -> {
 			context.disableDefaultConstraintViolation();
@@ -6,8 +6,10 @@ import java.util.Map;
 
 import org.springframework.web.servlet.HandlerMapping;
 
+import br.com.project.userService.cache.UsernameIndex;
 import br.com.project.userService.common.FieldMessage;
 import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.metrics.UserMetrics;
 import br.com.project.userService.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintValidator;
@@ -19,6 +21,10 @@ public class UserUpdateImpl implements ConstraintValidator<UserUpdate,UserDTO> {
 
     private final UserRepository repository;
 
+    private final UsernameIndex usernameIndex;
+
+    private final UserMetrics metrics;
+
 	private final HttpServletRequest request;
 
     @SuppressWarnings("unchecked")
@@ -30,9 +36,12 @@ public class UserUpdateImpl implements ConstraintValidator<UserUpdate,UserDTO> {
 		Map<String, String> map = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
 		long uriId = Long.parseLong(map.get("id"));
 		
-		//Check Code
-		var result = repository.findByUsernameIgnoreCase(value.getUsername());
-		if(result.isPresent() && !result.get().getId().equals(uriId)) list.add(new FieldMessage("username", "username already exists"));
+		//Check Code (o índice em memória evita a consulta quando o nome certamente não existe;
+		//um PATCH sem username não altera o nome e não precisa de verificação)
+		if(value.getUsername() != null && usernameIndex.mightExist(value.getUsername())) {
+			var result = metrics.stage("uniqueness-query", () -> repository.findByUsernameIgnoreCase(value.getUsername()));
+			if(result.isPresent() && !result.get().getId().equals(uriId)) list.add(new FieldMessage("username", "username already exists"));
+		}
 
 		list.stream().forEach(e -> {
 			context.disableDefaultConstraintViolation();
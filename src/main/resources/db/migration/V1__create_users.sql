@@ -0,0 +1,19 @@
+-- Esquema inicial de usuários (mesmo modelo mapeado em UserEntity)
+create sequence users_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    password varchar(255) not null,
+    tenant varchar(255) not null,
+    username varchar(255) not null,
+    username_normalized varchar(255) not null,
+    primary key (id),
+    constraint UK_USR_001 unique (username, tenant),
+    constraint UK_USR_002 unique (tenant, username_normalized)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    roles varchar(4000) not null,
+    constraint FK_USER_ROLES_USER foreign key (user_id) references users (id) on delete cascade
+);
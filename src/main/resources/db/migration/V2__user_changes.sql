@@ -0,0 +1,13 @@
+-- Versão e instante da última alteração, para ETag e sincronização incremental
+alter table users add column version bigint default 0 not null;
+alter table users add column last_modified timestamp(6) with time zone default current_timestamp not null;
+create index IX_USR_CHANGES on users (tenant, last_modified, id);
+
+-- Lápides dos usuários removidos (GET /changes)
+create table user_tombstones (
+    user_id bigint not null,
+    deleted_at timestamp(6) with time zone not null,
+    tenant varchar(255) not null,
+    primary key (user_id)
+);
+create index IX_TMB_CHANGES on user_tombstones (tenant, deleted_at, user_id);
@@ -0,0 +1,14 @@
+-- Outbox dos eventos de alteração (feed SSE); event_offset é atribuído na publicação
+create table user_outbox (
+    id uuid not null,
+    tenant varchar(255) not null,
+    user_id bigint not null,
+    type varchar(16) not null,
+    payload clob,
+    created_at timestamp(6) with time zone not null,
+    event_offset bigint,
+    primary key (id),
+    constraint UK_OUTBOX_001 unique (event_offset)
+);
+create index IX_OUTBOX_PENDING on user_outbox (event_offset, created_at);
+create index IX_OUTBOX_TENANT on user_outbox (tenant, event_offset);
@@ -0,0 +1,54 @@
+-- Dicionário de roles por tenant: cada nome recebe um bit (0 a 63)
+create sequence role_names_seq start with 1 increment by 1;
+
+create table role_names (
+    id bigint not null,
+    name varchar(4000) not null,
+    bit integer not null,
+    tenant varchar(255) not null,
+    primary key (id),
+    constraint UK_ROLE_001 unique (tenant, name),
+    constraint UK_ROLE_002 unique (tenant, bit),
+    -- Um bit acima de 63 não cabe na máscara BIGINT
+    constraint CK_ROLE_001 check (bit between 0 and 63)
+);
+
+-- Roles já gravados, numerados dentro de cada tenant do mais usado para o
+-- menos usado (empate pelo nome)
+create table role_ranking as
+select d.tenant, d.name, row_number() over (partition by d.tenant order by d.users desc, d.name) - 1 as bit
+  from (select u.tenant, ur.roles as name, count(*) as users
+          from user_roles ur join users u on u.id = ur.user_id
+         group by u.tenant, ur.roles) d;
+
+-- Num tenant com mais de 64 roles distintos, os menos usados não cabem na
+-- máscara: em vez de abortar a migração, essas atribuições são movidas para
+-- user_roles_overflow (para revisão e nova atribuição) e o restante migra.
+create table user_roles_overflow (
+    user_id bigint not null,
+    tenant varchar(255) not null,
+    role_name varchar(4000) not null
+);
+insert into user_roles_overflow (user_id, tenant, role_name)
+select ur.user_id, u.tenant, ur.roles
+  from user_roles ur
+  join users u on u.id = ur.user_id
+  join role_ranking k on k.tenant = u.tenant and k.name = ur.roles
+ where k.bit > 63;
+
+insert into role_names (id, name, bit, tenant)
+select next value for role_names_seq, k.name, k.bit, k.tenant
+  from role_ranking k
+ where k.bit <= 63;
+
+drop table role_ranking;
+
+-- Roles de cada usuário como máscara de bits na própria linha
+alter table users add column role_mask bigint default 0 not null;
+update users u
+   set role_mask = coalesce((select bit_or_agg(lshift(cast(1 as bigint), n.bit))
+                               from user_roles ur
+                               join role_names n on n.tenant = u.tenant and n.name = ur.roles
+                              where ur.user_id = u.id), 0);
+
+drop table user_roles;
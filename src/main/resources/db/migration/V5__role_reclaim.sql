@@ -0,0 +1,3 @@
+-- Bits aposentados do dicionário de roles: o role não tem mais usuários e o
+-- bit volta a ser usado depois de user-service.role-dictionary.reclaim-after
+alter table role_names add column retired_at timestamp(6) with time zone;
@@ -0,0 +1,105 @@
+package br.com.project.userService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Perfil prod: o esquema criado pelas migrações do Flyway passa na
+ * validação do Hibernate e atende a API, com o actuator restrito a health e
+ * prometheus. Também a migração dos roles para a máscara de bits.
+ */
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:prodProfileTest;DB_CLOSE_DELAY=-1",
+    "user-service.hashing.bcrypt-strength=4",
+    // A auditoria fica ligada como em produção, mas grava dentro de target/
+    "user-service.audit.directory=target/audit-prod-profile-test"
+})
+class ProdProfileTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void migratedSchemaValidatesAndServesRequests() throws Exception {
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("5");
+
+        mockMvc.perform(post("/userService/users").header("x-tenant", "prod")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"prod-user\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/userService/users").header("x-tenant", "prod"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void sensitiveActuatorEndpointsAreNotExposed() throws Exception {
+        mockMvc.perform(get("/actuator/health").header("x-tenant", "prod"))
+                .andExpect(status().isOk());
+        for (String endpoint : new String[] {"env", "heapdump", "beans", "configprops"}) {
+            mockMvc.perform(get("/actuator/" + endpoint).header("x-tenant", "prod"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    void tenantWithMoreThan64RolesKeepsTheMostUsedInTheMask() throws Exception {
+        String url = "jdbc:h2:mem:roleOverflowMigration;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").target("3").load().migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("insert into users (id, username, username_normalized, password, tenant)"
+                    + " values (1, 'a', 'a', 'x', 'big'), (2, 'b', 'b', 'x', 'big'), (3, 'c', 'c', 'x', 'small')");
+            // role-64 e role-65 são os únicos com um só usuário: ficam de fora
+            for (int i = 0; i < 66; i++) {
+                String role = "'role-%02d'".formatted(i);
+                statement.execute("insert into user_roles (user_id, roles) values (1, " + role + ")");
+                if (i < 64) {
+                    statement.execute("insert into user_roles (user_id, roles) values (2, " + role + ")");
+                }
+            }
+            statement.execute("insert into user_roles (user_id, roles) values (3, 'ROLE_USER')");
+        }
+
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(query(connection, "select count(*) from role_names where tenant = 'big'")).isEqualTo(64);
+            assertThat(query(connection, "select count(*) from role_names where tenant = 'big' and name in ('role-64', 'role-65')")).isZero();
+            assertThat(query(connection, "select count(*) from user_roles_overflow where user_id = 1 and tenant = 'big'")).isEqualTo(2);
+            assertThat(query(connection, "select count(*) from user_roles_overflow")).isEqualTo(2);
+            assertThat(query(connection, "select role_mask from users where id = 1")).isEqualTo(-1L);
+            assertThat(query(connection, "select role_mask from users where id = 2")).isEqualTo(-1L);
+            assertThat(query(connection, "select role_mask from users where id = 3")).isEqualTo(1L);
+        }
+    }
+
+    private static long query(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.project.userService.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.unit.DataSize;
+
+import br.com.project.userService.config.AuditProperties;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.service.UserService;
+import br.com.project.userService.tenant.TenantContext;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = {
+    "user-service.hashing.bcrypt-strength=4",
+    "user-service.audit.enabled=true"
+})
+class AuditLogTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void auditDirectory(DynamicPropertyRegistry registry) {
+        registry.add("user-service.audit.directory", () -> directory.resolve("context").toString());
+    }
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Test
+    void userMutationsAreWrittenAfterCommit() throws InterruptedException {
+        String tenant = "audit-" + System.nanoTime();
+        Instant from = Instant.now();
+        UserDTO created = TenantContext.callAs(tenant, () -> service.create(user("audited")));
+        TenantContext.runAs(tenant, () -> {
+            service.patch(created.getId(), user("audited-2"));
+            service.delete(created.getId());
+        });
+
+        List<AuditEvent> events = List.of();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (events.size() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            events = auditLog.scan(tenant, from, Instant.now().plusSeconds(1));
+        }
+        assertThat(events).extracting(AuditEvent::operation)
+                .containsExactly(AuditEvent.Operation.CREATE, AuditEvent.Operation.UPDATE, AuditEvent.Operation.DELETE);
+        assertThat(events).extracting(AuditEvent::userId).containsOnly(created.getId());
+        assertThat(auditLog.scan("other-" + tenant, from, Instant.now().plusSeconds(1))).isEmpty();
+    }
+
+    @Test
+    void segmentsRotateAndScanFiltersByTenantAndTime() throws Exception {
+        Path segmentsDir = directory.resolve("rotation");
+        AuditSegments segments = new AuditSegments(segmentsDir, 256, 2);
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        List<AuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(new AuditEvent(base.plusSeconds(i), i % 2 == 0 ? "a" : "b", i, AuditEvent.Operation.UPDATE));
+        }
+        segments.append(events.subList(0, 10));
+        segments.append(events.subList(10, 20));
+        segments.close();
+
+        // 256 bytes cabem 9 registros: 3 segmentos, o primeiro removido pela retenção
+        assertThat(AuditSegments.list(segmentsDir)).hasSize(2);
+        assertThat(segments.scan("a", base.plusSeconds(12), base.plusSeconds(18)))
+                .extracting(AuditEvent::userId).containsExactly(12L, 14L, 16L);
+        assertThat(segments.scan("b", base, base.plusSeconds(60))).extracting(AuditEvent::userId)
+                .containsExactly(9L, 11L, 13L, 15L, 17L, 19L);
+    }
+
+    @Test
+    void fullBufferDropsWithCounterAndStopDrainsTheRest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditLog log = new AuditLog(new AuditProperties(true, directory.resolve("drop"), 2, AuditProperties.Overflow.DROP,
+                10, 512, DataSize.ofKilobytes(64), 4, Duration.ofSeconds(1)), new TenantIdentifierResolver(), registry);
+        Instant from = Instant.now();
+
+        TenantContext.runAs("drop", () -> {
+            for (long id = 1; id <= 5; id++) {
+                log.created(id);
+            }
+        });
+        assertThat(registry.get("user.audit.buffer.depth").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("user.audit.dropped").counter().count()).isEqualTo(3);
+
+        log.start();
+        log.stop();
+        assertThat(log.scan("drop", from, Instant.now().plusSeconds(1))).extracting(AuditEvent::userId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void eventsAfterStopAreCountedAsDropped() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditLog log = new AuditLog(new AuditProperties(true, directory.resolve("stopped"), 16, AuditProperties.Overflow.BLOCK,
+                10, 512, DataSize.ofKilobytes(64), 4, Duration.ofSeconds(1)), new TenantIdentifierResolver(), registry);
+        log.start();
+        log.stop();
+
+        TenantContext.runAs("stopped", () -> log.created(List.of(1L, 2L)));
+
+        assertThat(registry.get("user.audit.buffer.depth").gauge().value()).isZero();
+        assertThat(registry.get("user.audit.dropped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsAfterTheWebServer() {
+        // Graceful shutdown do servidor web em DEFAULT_PHASE - 1024, parada em DEFAULT_PHASE - 2048
+        assertThat(auditLog.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(List.of("ROLE_USER"));
+        return dto;
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.project.userService.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void everyInsertedValueIsReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user-" + i)).as("user-" + i).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertThat(filter.capacity()).isEqualTo(1);
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("user")).isFalse();
+    }
+}
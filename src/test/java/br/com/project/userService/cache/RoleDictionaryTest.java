@@ -0,0 +1,89 @@
+package br.com.project.userService.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.project.userService.dto.RoleChangeDTO;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.exception.RoleLimitExceededException;
+import br.com.project.userService.service.UserService;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Registro de roles fora da transação de quem grava o usuário e
+ * reaproveitamento dos bits sem uso quando o dicionário enche. Sem cache
+ * e sem quarentena, para não depender do relógio.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:roleDictionaryTest",
+    "user-service.hashing.bcrypt-strength=4",
+    "user-service.role-dictionary.ttl=0s",
+    "user-service.role-dictionary.reclaim-after=0s",
+    // Uma única conexão: registrar o role dentro da transação do UPDATE esperaria por uma segunda
+    "spring.datasource.hikari.maximum-pool-size=1",
+    "spring.datasource.hikari.connection-timeout=5s"
+})
+class RoleDictionaryTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void newRolesInWritesNeedOnlyOneConnection() {
+        TenantContext.runAs("dictionary-" + System.nanoTime(), () -> {
+            UserDTO created = service.create(user("single", List.of("ROLE_USER")));
+
+            service.patch(created.getId(), user(null, List.of("ROLE_PATCHED")));
+            service.update(created.getId(), user("single", List.of("ROLE_UPDATED")));
+            assertThat(service.grantRole(new RoleChangeDTO("ROLE_GRANTED", List.of(created.getId()), null, null))).isEqualTo(1);
+
+            assertThat(service.findById(created.getId()).getRoles()).containsExactly("ROLE_UPDATED", "ROLE_GRANTED");
+        });
+    }
+
+    @Test
+    void unusedRolesAreRetiredAndTheirBitsReclaimed() throws InterruptedException {
+        String tenant = "reclaim-" + System.nanoTime();
+        List<String> all = IntStream.range(0, RoleDictionary.MAX_ROLES).mapToObj(i -> "ROLE_" + i).toList();
+        UserDTO full = TenantContext.callAs(tenant, () -> service.create(user("full", all)));
+        TenantContext.runAs(tenant, () -> service.patch(full.getId(), user(null, List.of("ROLE_0", "ROLE_5"))));
+
+        // Dicionário cheio: os 62 roles sem usuários são aposentados, mas o bit ainda não é dado a outro
+        assertThatThrownBy(() -> TenantContext.runAs(tenant, () -> service.create(user("early", List.of("ROLE_NEW")))))
+                .isInstanceOf(RoleLimitExceededException.class);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from role_names where tenant = ? and retired_at is not null",
+                Integer.class, tenant)).isEqualTo(62);
+
+        // Um role aposentado usado de novo volta no mesmo bit
+        TenantContext.runAs(tenant, () -> service.patch(full.getId(), user(null, List.of("ROLE_0", "ROLE_5", "ROLE_7"))));
+        Thread.sleep(10);
+
+        UserDTO reclaimed = TenantContext.callAs(tenant, () -> service.create(user("reclaimed", List.of("ROLE_NEW"))));
+
+        TenantContext.runAs(tenant, () -> {
+            assertThat(service.findById(full.getId()).getRoles()).containsExactly("ROLE_0", "ROLE_5", "ROLE_7");
+            assertThat(service.findById(reclaimed.getId()).getRoles()).containsExactly("ROLE_NEW");
+        });
+        assertThat(jdbcTemplate.queryForList("select name from role_names where tenant = ? order by bit", String.class, tenant))
+                .containsExactly("ROLE_0", "ROLE_NEW", "ROLE_5", "ROLE_7");
+    }
+
+    private static UserDTO user(String username, List<String> roles) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(roles);
+        return dto;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.project.userService.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import br.com.project.userService.config.UserCacheProperties;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.tenant.TenantContext;
+import br.com.project.userService.tenant.TenantIdentifierResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Chave por (tenant, id) e remoção repetida ao fim da transação.
+ */
+class UserCacheTest {
+
+    private final UserCache cache = new UserCache(new UserCacheProperties(100, Duration.ofMinutes(5)),
+            new TenantIdentifierResolver(), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sameIdInAnotherTenantIsAnotherEntry() {
+        TenantContext.runAs("cache-a", () -> cache.get(1, () -> user(1, "alice")));
+
+        UserDTO other = TenantContext.callAs("cache-b", () -> cache.get(1, () -> user(1, "bob")));
+
+        assertThat(other.getUsername()).isEqualTo("bob");
+        assertThat(TenantContext.callAs("cache-a", () -> cache.getIfPresent(1)).getUsername()).isEqualTo("alice");
+        assertThat(TenantContext.callAs("cache-c", () -> cache.getIfPresent(1))).isNull();
+    }
+
+    @Test
+    void evictOnlyRemovesTheCurrentTenantsEntry() {
+        TenantContext.runAs("cache-a", () -> cache.get(1, () -> user(1, "alice")));
+        TenantContext.runAs("cache-b", () -> cache.get(1, () -> user(1, "bob")));
+
+        TenantContext.runAs("cache-a", () -> cache.evictAll(List.of(1L)));
+        TenantContext.runAs("cache-b", () -> cache.evict(2));
+
+        assertThat(TenantContext.callAs("cache-a", () -> cache.getIfPresent(1))).isNull();
+        assertThat(TenantContext.callAs("cache-b", () -> cache.getIfPresent(1))).isNotNull();
+    }
+
+    @Test
+    void staleLoadDuringTheTransactionIsEvictedAfterCommit() {
+        TenantContext.runAs("cache-tx", () -> {
+            cache.get(1, () -> user(1, "old"));
+            TransactionSynchronizationManager.initSynchronization();
+
+            cache.evict(1);
+            // Leitura concorrente antes do commit recarrega o valor antigo
+            cache.get(1, () -> user(1, "old"));
+            assertThat(cache.getIfPresent(1)).isNotNull();
+
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+            assertThat(cache.getIfPresent(1)).isNull();
+        });
+    }
+
+    @Test
+    void bulkEvictionIsAlsoRepeatedAfterCompletion() {
+        TenantContext.runAs("cache-tx-bulk", () -> {
+            TransactionSynchronizationManager.initSynchronization();
+
+            cache.evictAll(List.of(1L, 2L));
+            cache.get(1, () -> user(1, "old"));
+            cache.get(2, () -> user(2, "old"));
+
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+            assertThat(cache.getIfPresent(1)).isNull();
+            assertThat(cache.getIfPresent(2)).isNull();
+        });
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private static UserDTO user(long id, String username) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
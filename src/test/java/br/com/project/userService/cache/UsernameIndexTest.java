@@ -0,0 +1,124 @@
+package br.com.project.userService.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.service.UserService;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Índice de usernames: montado fora da thread da consulta e sem falsos
+ * negativos, inclusive depois de ser reconstruído.
+ */
+@SpringBootTest(properties = {
+    "user-service.hashing.bcrypt-strength=4",
+    "user-service.username-index.min-capacity=8"
+})
+class UsernameIndexTest {
+
+    @Autowired
+    private UsernameIndex index;
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void firstLookupAnswersMaybeWhileTheIndexLoads() throws InterruptedException {
+        String tenant = "index-" + System.nanoTime();
+
+        // Ainda não há filtro: a resposta é "talvez" e a consulta segue pelo banco
+        assertThat(TenantContext.callAs(tenant, () -> index.mightExist("nobody"))).isTrue();
+
+        awaitReady(tenant);
+        assertThat(TenantContext.callAs(tenant, () -> index.mightExist("nobody"))).isFalse();
+    }
+
+    @Test
+    void noFalseNegativesAfterAddAndRebuild() throws InterruptedException {
+        String tenant = "index-" + System.nanoTime();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            names.add(create(tenant, "Loaded-" + i));
+        }
+        awaitReady(tenant);
+        assertMightExist(tenant, names);
+
+        // Gravados com o filtro pronto: entram pelo add; o 9º passa da
+        // capacidade (8) e descarta o filtro
+        for (int i = 0; i < 6; i++) {
+            names.add(create(tenant, "Added-" + i));
+            if (i < 5) {
+                assertMightExist(tenant, names);
+            }
+        }
+
+        awaitReady(tenant);
+        assertMightExist(tenant, names);
+        assertThat(TenantContext.callAs(tenant, () -> index.mightExist("ADDED-5"))).isTrue();
+    }
+
+    @Test
+    void namesAddedInATransactionOnlyEnterAfterTheCommit() throws InterruptedException {
+        String tenant = "index-" + System.nanoTime();
+        awaitReady(tenant);
+
+        TenantContext.runAs(tenant, () -> transactionTemplate.executeWithoutResult(status -> {
+            index.add("rolled-back");
+            status.setRollbackOnly();
+        }));
+        TenantContext.runAs(tenant, () -> transactionTemplate.executeWithoutResult(status -> {
+            index.add("committed");
+            assertThat(index.mightExist("committed")).isFalse();
+        }));
+
+        assertThat(TenantContext.callAs(tenant, () -> index.mightExist("rolled-back"))).isFalse();
+        assertThat(TenantContext.callAs(tenant, () -> index.mightExist("committed"))).isTrue();
+    }
+
+    @Test
+    void indexesAreIsolatedByTenant() throws InterruptedException {
+        String tenant = "index-" + System.nanoTime();
+        String other = "other-" + tenant;
+        create(tenant, "only-here");
+        awaitReady(tenant);
+        awaitReady(other);
+
+        assertThat(TenantContext.callAs(tenant, () -> index.mightExist("only-here"))).isTrue();
+        assertThat(TenantContext.callAs(other, () -> index.mightExist("only-here"))).isFalse();
+    }
+
+    private void assertMightExist(String tenant, List<String> names) {
+        for (String name : names) {
+            assertThat(TenantContext.callAs(tenant, () -> index.mightExist(name))).as(name).isTrue();
+        }
+    }
+
+    // Pronto quando um nome inédito passa a ser "certamente não existe"
+    private void awaitReady(String tenant) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (TenantContext.callAs(tenant, () -> index.mightExist("probe-" + System.nanoTime()))) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private String create(String tenant, String username) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(List.of("ROLE_USER"));
+        return TenantContext.callAs(tenant, () -> service.create(dto)).getUsername();
+    }
+}
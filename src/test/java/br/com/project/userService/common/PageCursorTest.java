@@ -0,0 +1,41 @@
+package br.com.project.userService.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.project.userService.exception.InvalidCursorException;
+
+class PageCursorTest {
+
+    @Test
+    void encodedIdDecodesBack() {
+        for (long id : new long[] {0L, 1L, 42L, Long.MAX_VALUE}) {
+            assertThat(PageCursor.decode(PageCursor.encode(id))).isEqualTo(id);
+        }
+        // Url-safe e sem padding: vai direto na query string
+        assertThat(PageCursor.encode(Long.MAX_VALUE)).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void missingCursorStartsFromTheBeginning() {
+        assertThat(PageCursor.decode(null)).isZero();
+        assertThat(PageCursor.decode("")).isZero();
+        assertThat(PageCursor.decode("  ")).isZero();
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        for (String cursor : new String[] {"not base64!", encoded("v2:10"), encoded("v1:abc"), encoded("v1:-1"), encoded("10")}) {
+            assertThatThrownBy(() -> PageCursor.decode(cursor)).as(cursor).isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.project.userService.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import br.com.project.userService.common.ExceptionMessage;
+import br.com.project.userService.common.FieldMessage;
+import br.com.project.userService.config.UserMetricsProperties;
+import br.com.project.userService.exception.InvalidCursorException;
+import br.com.project.userService.exception.PayloadTooLargeException;
+import br.com.project.userService.exception.WatermarkExpiredException;
+import br.com.project.userService.metrics.UserMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Violações de integridade vindas do banco: username duplicado vira erro de
+ * campo (400), as demais constraints viram 409. Erros do cliente entram
+ * em {@code user.errors} por tipo.
+ */
+class CustomExceptionHandleTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CustomExceptionHandle handler =
+            new CustomExceptionHandle(new UserMetrics(registry, new UserMetricsProperties(10)));
+
+    @Test
+    void usernameConstraintBecomesAFieldError() {
+        ResponseEntity<ExceptionMessage> response = handler.handleDataIntegrityViolation(violation(
+                "Unique index or primary key violation: \"PUBLIC.uk_usr_002_INDEX_4 ON PUBLIC.USERS(TENANT, USERNAME_NORMALIZED)\""));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().trace()).containsExactly(new FieldMessage("username", "username already exists"));
+    }
+
+    @Test
+    void otherConstraintsBecomeAConflict() {
+        ResponseEntity<ExceptionMessage> response = handler.handleDataIntegrityViolation(violation(
+                "Referential integrity constraint violation: \"FK_USER_ROLES_USER: PUBLIC.USER_ROLES FOREIGN KEY(USER_ID)\""));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().trace()).isNull();
+        // A mensagem do banco não vai para o cliente
+        assertThat(response.getBody().mensagem()).doesNotContain("FK_USER_ROLES_USER");
+    }
+
+    @Test
+    void clientErrorsAreCountedByType() {
+        handler.handleInvalidCursor(new InvalidCursorException("bad cursor"));
+        handler.handleWatermarkExpired(new WatermarkExpiredException());
+        handler.handlePayloadTooLarge(new PayloadTooLargeException("too large"));
+
+        for (String type : new String[] {"invalid-cursor", "watermark-expired", "payload-too-large"}) {
+            assertThat(registry.get("user.errors").tag("type", type).counter().count()).isEqualTo(1);
+        }
+    }
+
+    private static DataIntegrityViolationException violation(String detail) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(detail));
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.project.userService.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.project.userService.cache.UsernameIndex;
+import br.com.project.userService.service.UserService;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * POST /users/bulk em JSON e NDJSON: resultado por item, limite de itens e
+ * a nova tentativa item a item quando o INSERT do bloco esbarra na
+ * constraint única.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "user-service.hashing.bcrypt-strength=4")
+class UserBulkTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void eachItemGetsItsOwnResult() throws Exception {
+        String tenant = "bulk-" + System.nanoTime();
+        bulk(tenant, MediaType.APPLICATION_JSON_VALUE, "[" + user("existing") + "]");
+
+        JsonNode result = bulk(tenant, MediaType.APPLICATION_JSON_VALUE, "["
+                + user("ana") + ","
+                + "{\"username\":\"\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]},"
+                + user("EXISTING") + ","
+                + user("Ana") + ","
+                + user("bia") + "]");
+
+        assertThat(result.get("created").asInt()).isEqualTo(2);
+        assertThat(result.get("failed").asInt()).isEqualTo(3);
+        JsonNode items = result.get("items");
+        assertThat(items).hasSize(5);
+        assertThat(items.get(0).get("success").asBoolean()).isTrue();
+        assertThat(items.get(0).get("user").get("username").asText()).isEqualTo("ana");
+        assertThat(items.get(1).get("errors").get(0).get("fieldName").asText()).isEqualTo("username");
+        assertThat(items.get(2).get("errors").get(0).get("message").asText()).isEqualTo("username already exists");
+        assertThat(items.get(3).get("errors").get(0).get("message").asText()).isEqualTo("username duplicated in request");
+        assertThat(items.get(4).get("success").asBoolean()).isTrue();
+        for (int i = 0; i < items.size(); i++) {
+            assertThat(items.get(i).get("index").asInt()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void malformedNdjsonLineFailsOnlyItsItem() throws Exception {
+        String tenant = "bulk-ndjson-" + System.nanoTime();
+
+        JsonNode result = bulk(tenant, NDJSON, user("first") + "\n"
+                + "{\"username\": \"broken\"\n"
+                + "\n"
+                + user("second") + "\n");
+
+        assertThat(result.get("created").asInt()).isEqualTo(2);
+        JsonNode items = result.get("items");
+        assertThat(items).hasSize(3);
+        assertThat(items.get(1).get("success").asBoolean()).isFalse();
+        assertThat(items.get(1).get("errors").get(0).get("fieldName").asText()).isEqualTo("body");
+        assertThat(items.get(2).get("user").get("username").asText()).isEqualTo("second");
+    }
+
+    @Test
+    void moreItemsThanTheLimitAreRejected() throws Exception {
+        String tenant = "bulk-limit-" + System.nanoTime();
+        String ndjson = "{}\n".repeat(UserService.BULK_MAX_ITEMS + 1);
+        String json = "[" + String.join(",", Collections.nCopies(UserService.BULK_MAX_ITEMS + 1, "{}")) + "]";
+
+        mockMvc.perform(post("/userService/users/bulk").header("x-tenant", tenant).contentType(NDJSON).content(ndjson))
+                .andExpect(status().isPayloadTooLarge());
+        mockMvc.perform(post("/userService/users/bulk").header("x-tenant", tenant)
+                        .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void conflictFoundByTheInsertIsRetriedRowByRow() throws Exception {
+        String tenant = "bulk-race-" + System.nanoTime();
+        awaitUsernameIndex(tenant);
+        // Gravado por "outra instância": o índice em memória não o conhece, então
+        // a consulta de unicidade o pula e o conflito só aparece no INSERT do bloco
+        jdbcTemplate.update("insert into users (id, username, username_normalized, password, role_mask, tenant) values (?, ?, ?, ?, ?, ?)",
+                Long.MAX_VALUE - System.nanoTime() % 1_000_000, "racer", "racer", "hash", 0L, tenant);
+
+        JsonNode result = bulk(tenant, MediaType.APPLICATION_JSON_VALUE,
+                "[" + user("before") + "," + user("racer") + "," + user("after") + "]");
+
+        JsonNode items = result.get("items");
+        assertThat(result.get("created").asInt()).isEqualTo(2);
+        assertThat(items.get(0).get("success").asBoolean()).isTrue();
+        assertThat(items.get(1).get("errors").get(0).get("message").asText()).isEqualTo("username already exists");
+        assertThat(items.get(2).get("success").asBoolean()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where tenant = ?", Integer.class, tenant))
+                .isEqualTo(3);
+    }
+
+    // O índice de usernames do tenant carregado: um nome novo passa a ser "certamente não existe"
+    private void awaitUsernameIndex(String tenant) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (TenantContext.callAs(tenant, () -> usernameIndex.mightExist("probe-" + System.nanoTime()))) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private JsonNode bulk(String tenant, String contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/userService/users/bulk")
+                        .header("x-tenant", tenant)
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static String user(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}";
+    }
+}
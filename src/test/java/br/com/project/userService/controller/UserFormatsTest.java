@@ -0,0 +1,122 @@
+package br.com.project.userService.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import br.com.project.userService.service.UserService;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Negociação de CBOR/Smile e exportação escrita direto das entidades.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "user-service.hashing.bcrypt-strength=4")
+class UserFormatsTest {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService service;
+
+    @Test
+    void streamWritesTheSameRowsAsTheDTOs() throws Exception {
+        String tenant = createUsers();
+
+        // O caminho anterior: DTO a DTO pelo ObjectMapper
+        List<String> expected = new ArrayList<>();
+        TenantContext.runAs(tenant, () -> service.forEachUser(dto -> {
+            try {
+                expected.add(objectMapper.writeValueAsString(dto));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertThat(expected).hasSize(3);
+
+        String ndjson = stream(tenant, "application/x-ndjson").getContentAsString();
+        assertThat(ndjson).isEqualTo(String.join("\n", expected));
+        // Sem formato explícito no Accept continua NDJSON
+        assertThat(mockMvc.perform(get("/userService/users/stream").header("x-tenant", tenant).accept(MediaType.ALL))
+                .andReturn().getResponse().getContentAsString()).isEqualTo(ndjson);
+
+        List<JsonNode> json = new ArrayList<>();
+        for (String line : expected) {
+            json.add(objectMapper.readTree(line));
+        }
+        assertThat(readAll(new CBORFactory(), stream(tenant, MediaType.APPLICATION_CBOR_VALUE))).isEqualTo(json);
+        assertThat(readAll(new SmileFactory(), stream(tenant, SMILE))).isEqualTo(json);
+    }
+
+    @Test
+    void endpointsNegotiateBinaryFormats() throws Exception {
+        String tenant = createUsers();
+        JsonNode json = objectMapper.readTree(mockMvc.perform(get("/userService/users").header("x-tenant", tenant))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        for (String format : List.of(MediaType.APPLICATION_CBOR_VALUE, SMILE)) {
+            MockHttpServletResponse response = mockMvc.perform(get("/userService/users")
+                            .header("x-tenant", tenant).accept(format))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            assertThat(response.getContentType()).isEqualTo(format);
+            ObjectMapper binary = new ObjectMapper(format.equals(SMILE) ? new SmileFactory() : new CBORFactory());
+            assertThat(binary.readTree(response.getContentAsByteArray())).isEqualTo(json);
+            assertThat(response.getContentAsByteArray().length).isLessThan(json.toString().length());
+        }
+    }
+
+    private String createUsers() throws Exception {
+        String tenant = "formats-" + System.nanoTime();
+        create(tenant, "{\"username\":\"ana\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}");
+        create(tenant, "{\"username\":\"bia\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\",\"ROLE_ADMIN\"]}");
+        create(tenant, "{\"username\":\"caio\",\"password\":\"secret\",\"roles\":[\"ROLE_ADMIN\"]}");
+        return tenant;
+    }
+
+    private void create(String tenant, String body) throws Exception {
+        mockMvc.perform(post("/userService/users").header("x-tenant", tenant)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private MockHttpServletResponse stream(String tenant, String format) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/userService/users/stream")
+                        .header("x-tenant", tenant).accept(format))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(response.getContentType()).isEqualTo(format);
+        return response;
+    }
+
+    private static List<JsonNode> readAll(JsonFactory factory,
+            MockHttpServletResponse response) throws Exception {
+        return new ObjectMapper(factory).readerFor(JsonNode.class)
+                .<JsonNode>readValues(response.getContentAsByteArray()).readAll();
+    }
+}
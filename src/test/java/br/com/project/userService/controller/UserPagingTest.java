@@ -0,0 +1,171 @@
+package br.com.project.userService.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.project.userService.common.PageCursor;
+import br.com.project.userService.metrics.UserMetrics;
+import br.com.project.userService.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Listagem por keyset (GET /users com cursor) e exportação NDJSON (GET /users/stream).
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "user-service.hashing.bcrypt-strength=4")
+class UserPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void cursorWalksEveryUserOnce() throws Exception {
+        String tenant = "page-" + System.nanoTime();
+        Set<String> created = createUsers(tenant, "user", 5);
+        createUsers("other-" + tenant, "user", 2);
+
+        List<Long> ids = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/userService/users").header("x-tenant", tenant).param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = read(mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+            for (JsonNode item : page.get("items")) {
+                ids.add(item.get("id").asLong());
+                usernames.add(item.get("username").asText());
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(usernames).containsExactlyInAnyOrderElementsOf(created);
+    }
+
+    @Test
+    void pageTimerCoversTheWholeListing() throws Exception {
+        String tenant = "page-" + System.nanoTime();
+        double succeeded = pageTimings("success");
+        double failed = pageTimings("error");
+
+        // Role desconhecido responde sem consultar os usuários, cursor inválido
+        // falha antes: os dois também entram no timer
+        mockMvc.perform(get("/userService/users").header("x-tenant", tenant).param("role", "ROLE_NOBODY"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/userService/users").header("x-tenant", tenant).param("cursor", "not base64!"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(pageTimings("success")).isEqualTo(succeeded + 1);
+        assertThat(pageTimings("error")).isEqualTo(failed + 1);
+    }
+
+    @Test
+    void invalidCursorIsABadRequest() throws Exception {
+        String tenant = "page-" + System.nanoTime();
+
+        mockMvc.perform(get("/userService/users").header("x-tenant", tenant).param("cursor", "not base64!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/userService/users").header("x-tenant", tenant).param("cursor", "djI6MTA"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/userService/users").header("x-tenant", tenant).param("cursor", PageCursor.encode(0L)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void limitIsClampedToTheAllowedRange() throws Exception {
+        String tenant = "page-" + System.nanoTime();
+        createUsers(tenant, "user", UserService.MAX_PAGE_SIZE + 1);
+
+        JsonNode smallest = page(tenant, "-5");
+        assertThat(smallest.get("items")).hasSize(1);
+        assertThat(smallest.get("nextCursor").isNull()).isFalse();
+
+        JsonNode largest = page(tenant, "100000");
+        assertThat(largest.get("items")).hasSize(UserService.MAX_PAGE_SIZE);
+        assertThat(largest.get("nextCursor").isNull()).isFalse();
+    }
+
+    @Test
+    void streamWritesOneObjectPerLineForTheTenantOnly() throws Exception {
+        String tenant = "stream-" + System.nanoTime();
+        // Mais de um lote de leitura
+        Set<String> created = createUsers(tenant, "user", UserService.STREAM_BATCH_SIZE + 1);
+        createUsers("other-" + tenant, "intruder", 3);
+
+        String ndjson = mockMvc.perform(get("/userService/users/stream").header("x-tenant", tenant))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(created.size());
+        Set<String> usernames = new HashSet<>();
+        for (String line : lines) {
+            JsonNode user = read(line);
+            assertThat(user.isObject()).as(line).isTrue();
+            usernames.add(user.get("username").asText());
+        }
+        assertThat(usernames).isEqualTo(created);
+    }
+
+    private JsonNode page(String tenant, String limit) throws Exception {
+        return read(mockMvc.perform(get("/userService/users").header("x-tenant", tenant).param("limit", limit))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private Set<String> createUsers(String tenant, String prefix, int count) throws Exception {
+        Set<String> usernames = new HashSet<>();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String username = prefix + "-" + i;
+            usernames.add(username);
+            body.append("{\"username\":\"").append(username).append("\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}\n");
+        }
+        JsonNode result = read(mockMvc.perform(post("/userService/users/bulk").header("x-tenant", tenant)
+                        .contentType("application/x-ndjson").content(body.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(result.get("created").asInt()).isEqualTo(count);
+        return usernames;
+    }
+
+    private JsonNode read(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    private double pageTimings(String outcome) {
+        return registry.find(UserMetrics.OPERATION).tags("operation", "page", "outcome", outcome).timers().stream()
+                .mapToDouble(Timer::count)
+                .sum();
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.project.userService.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.project.userService.domain.UserEntity;
+import br.com.project.userService.repository.UserRepository;
+import br.com.project.userService.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Roteamento de transações read-only para réplicas, com duas bases H2: o
+ * primário e uma réplica (mais uma réplica fora do ar).
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:replicaPrimary;DB_CLOSE_DELAY=-1",
+    "user-service.hashing.bcrypt-strength=4",
+    "user-service.replicas.enabled=true",
+    "user-service.replicas.pools[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+    "user-service.replicas.pools[1].url=jdbc:h2:tcp://localhost:1/unavailable",
+    "user-service.replicas.connection-timeout=250ms",
+    "user-service.replicas.retry-after=1m",
+    "user-service.replicas.primary-after-write=30s"
+})
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicaTest;DB_CLOSE_DELAY=-1";
+
+    private static boolean schemaCopied;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void onlyTheClientThatWroteReadsFromThePrimary() throws Exception {
+        String tenant = "replica-" + System.nanoTime();
+        // Só existe na réplica: encontrá-lo prova que a leitura foi para lá
+        insertIntoReplica(900001L, "replica-only", tenant);
+
+        double replicaReads = reads("replica-0", "replica");
+        for (int i = 0; i < 4; i++) {
+            assertThat(TenantContext.callAs(tenant, () -> repository.findById(900001L)))
+                    .map(UserEntity::getUsername).contains("replica-only");
+        }
+        assertThat(reads("replica-0", "replica")).isEqualTo(replicaReads + 4);
+
+        MvcResult created = mockMvc.perform(post("/userService/users").header("x-tenant", tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"written\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(RecentWrites.HEADER))
+                .andReturn();
+        String lastWrite = created.getResponse().getHeader(RecentWrites.HEADER);
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        // Quem escreveu e reenvia o header lê do primário e enxerga o que gravou
+        // (sem roles: essa leitura não passa pelo cache, que carrega do primário)
+        double afterWrite = reads(ReplicaRoutingDataSource.PRIMARY, "after-write");
+        mockMvc.perform(get("/userService/users/" + id).param("includeRoles", "false")
+                        .header("x-tenant", tenant).header(RecentWrites.HEADER, lastWrite))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/userService/users/900001").param("includeRoles", "false")
+                        .header("x-tenant", tenant).header(RecentWrites.HEADER, lastWrite))
+                .andExpect(status().isNotFound());
+        assertThat(reads(ReplicaRoutingDataSource.PRIMARY, "after-write")).isEqualTo(afterWrite + 2);
+
+        // Outro cliente do mesmo tenant continua na réplica
+        replicaReads = reads("replica-0", "replica");
+        mockMvc.perform(get("/userService/users/900001").param("includeRoles", "false").header("x-tenant", tenant))
+                .andExpect(status().isOk());
+        assertThat(reads("replica-0", "replica")).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void cacheIsLoadedFromThePrimaryWhileTheReplicaLags() throws Exception {
+        String tenant = "lagging-" + System.nanoTime();
+        MvcResult created = mockMvc.perform(post("/userService/users").header("x-tenant", tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"before\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+        // A réplica ainda não recebeu o PUT abaixo
+        insertIntoReplica(id, "before", tenant);
+
+        MvcResult updated = mockMvc.perform(put("/userService/users/" + id).header("x-tenant", tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"after\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String lastWrite = updated.getResponse().getHeader(RecentWrites.HEADER);
+
+        // Sem roles a leitura não passa pelo cache: vai à réplica e vê o atraso
+        mockMvc.perform(get("/userService/users/" + id).param("includeRoles", "false").header("x-tenant", tenant))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("before"));
+
+        // Outro cliente lê primeiro: a falta no cache é carregada do primário
+        double cacheLoads = reads(ReplicaRoutingDataSource.PRIMARY, "cache-load");
+        mockMvc.perform(get("/userService/users/" + id).header("x-tenant", tenant))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("after"));
+        assertThat(reads(ReplicaRoutingDataSource.PRIMARY, "cache-load")).isEqualTo(cacheLoads + 1);
+
+        // Quem escreveu recebe do cache o que gravou, não o estado da réplica
+        mockMvc.perform(get("/userService/users/" + id).header("x-tenant", tenant).header(RecentWrites.HEADER, lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("after"));
+        assertThat(reads(ReplicaRoutingDataSource.PRIMARY, "cache-load")).isEqualTo(cacheLoads + 1);
+    }
+
+    @Test
+    void writeTokenExpiresWithTheWindow() {
+        RecentWrites recentWrites = new RecentWrites(Duration.ofSeconds(2));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long now = System.currentTimeMillis();
+
+        assertThat(recentWrites.wroteRecently()).isFalse();
+        assertThat(recentWrites.callAs(now - 500, response, recentWrites::wroteRecently)).isTrue();
+        assertThat(recentWrites.callAs(now - 5_000, response, recentWrites::wroteRecently)).isFalse();
+        assertThat(recentWrites.callAs(0, response, recentWrites::wroteRecently)).isFalse();
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenNoReplicaAnswers() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:replicaFallback;DB_CLOSE_DELAY=-1", "sa", "");
+        DriverManagerDataSource down = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unavailable", "sa", "");
+        try (ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(down),
+                new RecentWrites(Duration.ofSeconds(1)), Duration.ofMinutes(1).toNanos(), meters)) {
+
+            TenantContext.callAs("fallback", () -> {
+                routing.getConnection().close();
+                routing.getConnection().close();
+                return null;
+            });
+            routing.getConnection().close();
+            // Credenciais explícitas seguem a mesma rota
+            TenantContext.callAs("fallback", () -> {
+                routing.getConnection("sa", "").close();
+                return null;
+            });
+
+            assertThat(meters.get(ReplicaRoutingDataSource.READS).tags("pool", "primary", "reason", "fallback").counter().count())
+                    .isEqualTo(3);
+            assertThat(meters.get(ReplicaRoutingDataSource.READS).tags("pool", "primary", "reason", "no-tenant").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    private void insertIntoReplica(long id, String username, String tenant) throws Exception {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            if (!schemaCopied) {
+                copySchema(replica);
+                schemaCopied = true;
+            }
+            try (Statement statement = replica.createStatement()) {
+                statement.execute("insert into USERS (id, username, username_normalized, password, role_mask, tenant, version, last_modified) "
+                        + "values (" + id + ", '" + username + "', '" + username + "', 'x', 0, '" + tenant + "', 0, current_timestamp)");
+            }
+        }
+    }
+
+    private void copySchema(Connection replica) throws Exception {
+        List<String> ddl = new ArrayList<>();
+        try (Connection primary = dataSource.getConnection();
+                Statement statement = primary.createStatement();
+                ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                ddl.add(script.getString(1));
+            }
+        }
+        try (Statement statement = replica.createStatement()) {
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private double reads(String pool, String reason) {
+        var counter = registry.find(ReplicaRoutingDataSource.READS).tags("pool", pool, "reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.project.userService.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.service.UserService;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Feed SSE: retomada pelo Last-Event-ID seguida dos eventos ao vivo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    // Base própria: o relay de outro contexto de teste não publica estes eventos
+    "spring.datasource.url=jdbc:h2:mem:changeFeedTest",
+    "user-service.hashing.bcrypt-strength=4"
+})
+class ChangeFeedTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService service;
+
+    @Test
+    @Timeout(30)
+    void replaysMissedEventsThenStreamsLiveOnes() throws Exception {
+        String tenant = "feed-" + System.nanoTime();
+        UserDTO user = TenantContext.callAs(tenant, () -> service.create(user("feed")));
+
+        Event created;
+        try (Stream<String> lines = open(tenant, 0)) {
+            Iterator<String> feed = lines.iterator();
+            created = next(feed);
+            assertThat(created.name()).isEqualTo("user.created");
+            assertThat(created.data()).contains("\"userId\":" + user.getId()).contains("\"username\":\"feed\"");
+
+            // Já conectado: os próximos chegam ao vivo
+            TenantContext.runAs(tenant, () -> service.patch(user.getId(), user("feed-renamed")));
+            TenantContext.runAs(tenant, () -> service.delete(user.getId()));
+
+            Event updated = next(feed);
+            assertThat(updated.name()).isEqualTo("user.updated");
+            assertThat(updated.data()).contains("feed-renamed");
+            assertThat(updated.id()).isGreaterThan(created.id());
+            assertThat(next(feed).name()).isEqualTo("user.deleted");
+        }
+
+        // Reconexão: apenas o que veio depois do último id recebido
+        try (Stream<String> lines = open(tenant, created.id())) {
+            Iterator<String> feed = lines.iterator();
+            assertThat(List.of(next(feed).name(), next(feed).name())).containsExactly("user.updated", "user.deleted");
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void otherTenantsEventsAreNotDelivered() throws Exception {
+        String tenant = "feed-a-" + System.nanoTime();
+        TenantContext.runAs("feed-b-" + System.nanoTime(), () -> service.create(user("other")));
+        UserDTO own = TenantContext.callAs(tenant, () -> service.create(user("own")));
+
+        try (Stream<String> lines = open(tenant, 0)) {
+            Event first = next(lines.iterator());
+            assertThat(first.data()).contains("\"userId\":" + own.getId());
+        }
+    }
+
+    private Stream<String> open(String tenant, long lastEventId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/userService/users/feed"))
+                .header("x-tenant", tenant)
+                .header("Accept", "text/event-stream")
+                .header("Last-Event-ID", String.valueOf(lastEventId))
+                .build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.body();
+    }
+
+    // Lê até a linha em branco que encerra o evento; comentários (keep-alive) são ignorados
+    private static Event next(Iterator<String> lines) {
+        long id = -1;
+        String name = null;
+        StringBuilder data = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (name != null) {
+                    return new Event(id, name, data.toString());
+                }
+            } else if (line.startsWith("id:")) {
+                id = Long.parseLong(line.substring(3).strip());
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6).strip();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring(5));
+            }
+        }
+        throw new IllegalStateException("Feed closed before the next event");
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(List.of("ROLE_USER"));
+        return dto;
+    }
+
+    private record Event(long id, String name, String data) {
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.project.userService.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.project.userService.config.FeedProperties;
+import br.com.project.userService.dto.UserChangeEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Assinante lento e retomada de um ponto já expirado. O relay fica
+ * desligado: os eventos são entregues pelo próprio teste.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:feedSubscriberTest",
+    "user-service.hashing.bcrypt-strength=4",
+    "user-service.feed.relay-enabled=false",
+    "user-service.feed.subscriber-buffer=2"
+})
+class FeedSubscriberTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChangeFeed feed;
+
+    @Autowired
+    private FeedProperties properties;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void relayIsNotStartedWhenDisabled() {
+        assertThat(relay.isRunning()).isFalse();
+    }
+
+    @Test
+    void fullBufferDisconnectsTheSubscriber() {
+        String tenant = "slow-" + System.nanoTime();
+        SseEmitter emitter = new SseEmitter();
+        FeedSubscriber subscriber = new FeedSubscriber(feed, tenant, emitter, properties);
+        double before = slowDisconnects();
+
+        // Ninguém consome a fila: o terceiro evento não cabe no buffer de 2
+        subscriber.offer(event(1));
+        subscriber.offer(event(2));
+        assertThat(slowDisconnects()).isEqualTo(before);
+        subscriber.offer(event(3));
+        assertThat(slowDisconnects()).isEqualTo(before + 1);
+        // Já desconectado: não conta de novo
+        subscriber.offer(event(4));
+        assertThat(slowDisconnects()).isEqualTo(before + 1);
+
+        // A thread de envio vê a desconexão e encerra a resposta
+        subscriber.run();
+        assertThatThrownBy(() -> emitter.send("late")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Timeout(30)
+    void expiredLastEventIdReceivesReset() throws Exception {
+        String tenant = "reset-" + System.nanoTime();
+        // Como se a limpeza tivesse apagado os eventos até o offset 99
+        feed.setOldestOffset(100);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/userService/users/feed"))
+                .header("x-tenant", tenant)
+                .header("Accept", "text/event-stream")
+                .header("Last-Event-ID", "5")
+                .build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        // O servidor envia o reset e encerra a conexão
+        List<String> lines = response.body().toList();
+        assertThat(lines).contains("event:reset");
+        assertThat(lines).noneMatch(line -> line.startsWith("id:"));
+    }
+
+    private double slowDisconnects() {
+        return registry.get("user.feed.slow.disconnects").counter().count();
+    }
+
+    private static UserChangeEventDTO event(long offset) {
+        return new UserChangeEventDTO(offset, "UPDATED", offset, Instant.now(), null);
+    }
+}
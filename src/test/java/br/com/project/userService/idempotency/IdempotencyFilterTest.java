@@ -0,0 +1,141 @@
+package br.com.project.userService.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Repetições de POST /users com o mesmo Idempotency-Key.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "user-service.hashing.bcrypt-strength=4",
+    "user-service.idempotency.max-body-size=1KB",
+    "user-service.idempotency.wait-timeout=1s"
+})
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Test
+    void retryReturnsTheOriginalResponse() throws Exception {
+        String tenant = "idem-" + System.nanoTime();
+        String body = user("idem-user");
+
+        MockHttpServletResponse first = create(tenant, "k1", body);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+
+        // Sem a chave a repetição esbarraria no username duplicado
+        MockHttpServletResponse retry = create(tenant, "k1", body);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+
+        // A chave é por tenant
+        assertThat(create("other-" + tenant, "k1", body).getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+
+        mockMvc.perform(post("/userService/users").header("x-tenant", tenant).header(IdempotencyFilter.HEADER, "k1")
+                        .contentType(MediaType.APPLICATION_JSON).content(user("another-user")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void failedRequestIsNotStored() throws Exception {
+        String tenant = "idem-" + System.nanoTime();
+        String invalid = "{\"username\":\"\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}";
+
+        assertThat(create(tenant, "k2", invalid).getStatus()).isEqualTo(400);
+        mockMvc.perform(post("/userService/users").header("x-tenant", tenant).header(IdempotencyFilter.HEADER, "k2")
+                        .contentType(MediaType.APPLICATION_JSON).content(invalid))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentDuplicatesShareOneExecution() throws Exception {
+        String tenant = "idem-" + System.nanoTime();
+        String body = user("idem-concurrent");
+
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> create(tenant, "k3", body)));
+            }
+        }
+        String original = null;
+        int executed = 0;
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertThat(response.get().getStatus()).isEqualTo(201);
+            if (response.get().getHeader(IdempotencyFilter.REPLAYED_HEADER) == null) {
+                executed++;
+                original = response.get().getContentAsString();
+            }
+        }
+        assertThat(executed).isEqualTo(1);
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertThat(response.get().getContentAsString()).isEqualTo(original);
+        }
+    }
+
+    @Test
+    void retryGivesUpWaitingForAStuckExecution() throws Exception {
+        String tenant = "idem-" + System.nanoTime();
+        String body = user("idem-stuck");
+        // Dona da chave que nunca termina
+        IdempotencyStore.Execution stuck = new IdempotencyStore.Execution(
+                HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8))));
+        assertThat(store.begin(tenant, "k4", stuck)).isNull();
+
+        MockHttpServletResponse retry = create(tenant, "k4", body);
+
+        assertThat(retry.getStatus()).isEqualTo(409);
+        assertThat(retry.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        store.abandon(tenant, "k4", stuck);
+        assertThat(create(tenant, "k4", body).getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void bodyOverTheLimitIsRejectedBeforeBeingBuffered() throws Exception {
+        String tenant = "idem-" + System.nanoTime();
+        String body = user("x".repeat(2048));
+
+        assertThat(create(tenant, "k5", body).getStatus()).isEqualTo(413);
+    }
+
+    private MockHttpServletResponse create(String tenant, String key, String body) throws Exception {
+        return mockMvc.perform(post("/userService/users")
+                        .header("x-tenant", tenant)
+                        .header(IdempotencyFilter.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse();
+    }
+
+    private static String user(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}";
+    }
+}
@@ -0,0 +1,359 @@
+package br.com.project.userService.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Teste de carga: sobe a aplicação (H2 em memória) e dispara uma mistura
+ * configurável de POST/GET/PUT/DELETE em {@code /userService/users} a partir
+ * de clientes em threads virtuais, espalhados por vários tenants.
+ *
+ * A latência de cada operação vai para um HdrHistogram (p50/p99/p99.9) e o
+ * resultado é gravado em JSON (mais um .hgrm por operação) para comparar
+ * builds. Com {@code load.rate} > 0 os clientes seguem uma agenda fixa e a
+ * latência conta a partir do horário previsto, então a fila formada quando
+ * o servidor atrasa entra na medida (sem coordinated omission); com 0 cada
+ * cliente envia a próxima requisição assim que recebe a resposta.
+ *
+ * Executar com: ./mvnw test -Pload [-Dload.tenants=50 -Dload.clients=128
+ * -Dload.duration-seconds=60 -Dload.rate=2000 -Dload.mix=POST=10,GET=70,PUT=15,DELETE=5]
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.show-sql=false",
+    // O teste mede o serviço, não a admissão por tenant
+    "user-service.rate-limit.enabled=false",
+    "logging.level.br.com.project=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.orm.jdbc.bind=INFO"
+})
+class UserLoadTest {
+
+    private enum Operation { POST, GET, PUT, DELETE }
+
+    private final LoadConfig config = LoadConfig.fromSystemProperties();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final List<TenantIds> tenantIds = new ArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void driveMixedWorkloadAcrossTenants() throws Exception {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        String run = "load-" + System.currentTimeMillis();
+        for (int t = 0; t < config.tenants(); t++) {
+            tenantIds.add(new TenantIds(run + "-t" + t));
+        }
+        seed();
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmupSeconds() * 1_000_000_000L;
+        long deadline = measureFrom + config.durationSeconds() * 1_000_000_000L;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < config.clients(); c++) {
+                futures.add(clients.submit(() -> runClient(measureFrom, deadline)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        Map<String, Object> report = report();
+        writeReport(report);
+
+        for (Operation operation : Operation.values()) {
+            assertThat(stats.get(operation).serverErrors.sum()).as("%s com status 5xx", operation).isZero();
+        }
+        assertThat(stats.values().stream().mapToLong(s -> s.histogram.getTotalCount()).sum()).isPositive();
+    }
+
+    private void seed() throws Exception {
+        try (ExecutorService clients = Executors.newFixedThreadPool(config.clients(), Thread.ofVirtual().factory())) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (TenantIds tenant : tenantIds) {
+                for (int u = 0; u < config.seedUsers(); u++) {
+                    futures.add(clients.submit(() -> execute(Operation.POST, tenant, ThreadLocalRandom.current())));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private Void runClient(long measureFrom, long deadline) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long interval = config.rate() > 0 ? 1_000_000_000L * config.clients() / config.rate() : 0L;
+        // Desencontra os clientes para a agenda não sair em rajadas
+        long next = System.nanoTime() + (interval > 0 ? random.nextLong(interval) : 0L);
+        while (true) {
+            long intendedStart;
+            if (interval > 0) {
+                intendedStart = next;
+                next += interval;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                intendedStart = System.nanoTime();
+            }
+            if (intendedStart >= deadline) {
+                return null;
+            }
+            TenantIds tenant = tenantIds.get(random.nextInt(tenantIds.size()));
+            Operation operation = config.pick(random);
+            if (operation != Operation.POST && tenant.isEmpty()) {
+                operation = Operation.POST;
+            }
+            int status = execute(operation, tenant, random);
+            if (intendedStart >= measureFrom) {
+                stats.get(operation).record(System.nanoTime() - intendedStart, status);
+            }
+        }
+    }
+
+    private int execute(Operation operation, TenantIds tenant, ThreadLocalRandom random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case POST -> {
+                HttpResponse<String> response = send("POST", "", tenant.name(), userJson(tenant.name() + "-u" + sequence.incrementAndGet()));
+                if (response.statusCode() == 201) {
+                    tenant.add(mapper.readTree(response.body()).get("id").asLong());
+                }
+                yield response.statusCode();
+            }
+            case GET -> send("GET", "/" + tenant.pick(random), tenant.name(), null).statusCode();
+            case PUT -> send("PUT", "/" + tenant.pick(random), tenant.name(),
+                    userJson(tenant.name() + "-r" + sequence.incrementAndGet())).statusCode();
+            case DELETE -> {
+                Long id = tenant.take(random);
+                yield id == null ? 404 : send("DELETE", "/" + id, tenant.name(), null).statusCode();
+            }
+        };
+    }
+
+    private String userJson(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}";
+    }
+
+    private HttpResponse<String> send(String method, String path, String tenant, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/userService/users" + path))
+                .header("x-tenant", tenant)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Map<String, Object> report() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("tenants", config.tenants());
+        settings.put("clients", config.clients());
+        settings.put("seedUsers", config.seedUsers());
+        settings.put("warmupSeconds", config.warmupSeconds());
+        settings.put("durationSeconds", config.durationSeconds());
+        settings.put("rate", config.rate());
+        settings.put("mix", config.mix());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            OperationStats s = stats.get(operation);
+            Histogram h = s.histogram;
+            total += h.getTotalCount();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", h.getTotalCount());
+            entry.put("throughput", (double) h.getTotalCount() / config.durationSeconds());
+            entry.put("success", s.success.sum());
+            entry.put("notFound", s.notFound.sum());
+            entry.put("rejected", s.rejected.sum());
+            entry.put("clientErrors", s.clientErrors.sum());
+            entry.put("serverErrors", s.serverErrors.sum());
+            entry.put("meanMs", h.getMean() / 1_000.0);
+            entry.put("p50Ms", h.getValueAtPercentile(50) / 1_000.0);
+            entry.put("p90Ms", h.getValueAtPercentile(90) / 1_000.0);
+            entry.put("p99Ms", h.getValueAtPercentile(99) / 1_000.0);
+            entry.put("p999Ms", h.getValueAtPercentile(99.9) / 1_000.0);
+            entry.put("maxMs", h.getMaxValue() / 1_000.0);
+            operations.put(operation.name(), entry);
+
+            log.info("Carga {}: {} req ({} req/s) p50={} ms p99={} ms p99.9={} ms max={} ms, 404={} 429={} 4xx={} 5xx={}",
+                    operation, h.getTotalCount(), String.format("%.0f", (double) h.getTotalCount() / config.durationSeconds()),
+                    entry.get("p50Ms"), entry.get("p99Ms"), entry.get("p999Ms"), entry.get("maxMs"),
+                    s.notFound.sum(), s.rejected.sum(), s.clientErrors.sum(), s.serverErrors.sum());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("config", settings);
+        report.put("throughput", (double) total / config.durationSeconds());
+        report.put("operations", operations);
+        return report;
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        Path json = Path.of(config.report());
+        if (json.getParent() != null) {
+            Files.createDirectories(json.getParent());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(json.toFile(), report);
+
+        // Distribuição completa (formato HdrHistogram, em ms) para plotar/comparar
+        String base = json.toString().replaceFirst("\\.json$", "");
+        for (Operation operation : Operation.values()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(Path.of(base + "-" + operation + ".hgrm")))) {
+                stats.get(operation).histogram.outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+        log.info("Relatório de carga gravado em {}", json.toAbsolutePath());
+    }
+
+    /** Latências em microssegundos e contagem de respostas por faixa de status. */
+    private static final class OperationStats {
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder success = new LongAdder();
+        private final LongAdder notFound = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        private void record(long nanos, int status) {
+            histogram.recordValue(Math.max(1, nanos / 1_000));
+            if (status < 300) {
+                success.increment();
+            } else if (status == 404) {
+                // Outro cliente apagou o usuário entre a escolha do id e a requisição
+                notFound.increment();
+            } else if (status == 429) {
+                rejected.increment();
+            } else if (status < 500) {
+                clientErrors.increment();
+            } else {
+                serverErrors.increment();
+            }
+        }
+    }
+
+    /** Ids conhecidos de um tenant, para GET/PUT/DELETE em usuários que existem. */
+    private static final class TenantIds {
+        private final String name;
+        private final List<Long> ids = new ArrayList<>();
+
+        private TenantIds(String name) {
+            this.name = name;
+        }
+
+        private String name() {
+            return name;
+        }
+
+        private synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        private synchronized boolean isEmpty() {
+            return ids.isEmpty();
+        }
+
+        private synchronized long pick(ThreadLocalRandom random) {
+            return ids.isEmpty() ? 0L : ids.get(random.nextInt(ids.size()));
+        }
+
+        private synchronized Long take(ThreadLocalRandom random) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(ids.size());
+            Long id = ids.get(index);
+            ids.set(index, ids.getLast());
+            ids.removeLast();
+            return id;
+        }
+    }
+
+    /**
+     * Parâmetros lidos de propriedades de sistema ({@code -Dload.*}).
+     *
+     * @param mix pesos por operação, ex.: POST=10,GET=70,PUT=15,DELETE=5.
+     * @param rate requisições por segundo somando todos os clientes; 0 = sem agenda.
+     */
+    private record LoadConfig(int tenants, int clients, int seedUsers, int warmupSeconds, int durationSeconds,
+            int rate, String mix, String report, Operation[] weighted) {
+
+        static LoadConfig fromSystemProperties() {
+            String mix = System.getProperty("load.mix", "POST=10,GET=70,PUT=15,DELETE=5");
+            List<Operation> weighted = new ArrayList<>();
+            for (String part : mix.split(",")) {
+                String[] pair = part.trim().split("=");
+                Operation operation = Operation.valueOf(pair[0].trim().toUpperCase());
+                for (int i = 0; i < Integer.parseInt(pair[1].trim()); i++) {
+                    weighted.add(operation);
+                }
+            }
+            return new LoadConfig(
+                    Integer.getInteger("load.tenants", 20),
+                    Integer.getInteger("load.clients", 64),
+                    Integer.getInteger("load.seed-users", 20),
+                    Integer.getInteger("load.warmup-seconds", 5),
+                    Integer.getInteger("load.duration-seconds", 30),
+                    Integer.getInteger("load.rate", 0),
+                    mix,
+                    System.getProperty("load.report", "target/load-report.json"),
+                    weighted.toArray(Operation[]::new));
+        }
+
+        Operation pick(ThreadLocalRandom random) {
+            return weighted[random.nextInt(weighted.length)];
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.project.userService.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.project.userService.config.UserMetricsProperties;
+import br.com.project.userService.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserMetrics metrics = new UserMetrics(registry, new UserMetricsProperties(2));
+
+    @Test
+    void tenantsBeyondTheCapShareTheOtherTag() {
+        for (String tenant : new String[] {"a", "b", "c", "d", "a"}) {
+            TenantContext.runAs(tenant, () -> metrics.operation("find", () -> "ok"));
+        }
+
+        assertThat(registry.get(UserMetrics.OPERATION).tag("tenant", "a").timer().count()).isEqualTo(2);
+        assertThat(registry.get(UserMetrics.OPERATION).tag("tenant", "b").timer().count()).isEqualTo(1);
+        assertThat(registry.get(UserMetrics.OPERATION).tag("tenant", UserMetrics.OTHER_TENANT).timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void failedOperationIsRecordedWithErrorOutcome() {
+        assertThatThrownBy(() -> TenantContext.runAs("a", () -> metrics.operation("delete", (Runnable) () -> {
+            throw new IllegalStateException("boom");
+        }))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(UserMetrics.OPERATION).tags("operation", "delete", "outcome", "error").timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.project.userService.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.project.userService.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mede o tempo de {@link UserRepository#findByUsernameIgnoreCase(String)} com
+ * tenants de 1 mil a 1 milhão de usuários. Com o índice
+ * (TENANT, username_normalized) o tempo por busca deve ficar praticamente
+ * constante; com o antigo upper(username) = upper(?) ele crescia com o tenant.
+ *
+ * Executar com: ./mvnw test -Pbenchmark -Dtest=UsernameLookupBenchmarkTest
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.orm.jdbc.bind=INFO"
+})
+class UsernameLookupBenchmarkTest {
+
+    private static final int[] TENANT_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int LOOKUPS = 2_000;
+    private static final long ID_OFFSET = 1_000_000_000L;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lookupTimeStaysFlatAsTenantGrows() {
+        Map<Integer, Double> microsPerLookup = new LinkedHashMap<>();
+        long nextId = ID_OFFSET;
+        for (int size : TENANT_SIZES) {
+            String tenant = "bench-" + size;
+            insertUsers(tenant, size, nextId);
+            nextId += size;
+
+            TenantContext.runAs(tenant, () -> {
+                lookups(size, LOOKUPS); // aquecimento
+                long start = System.nanoTime();
+                lookups(size, LOOKUPS);
+                microsPerLookup.put(size, (System.nanoTime() - start) / 1_000.0 / LOOKUPS);
+            });
+        }
+
+        microsPerLookup.forEach((size, micros) ->
+                log.info("findByUsernameIgnoreCase: tenant com {} usuários -> {} µs/busca", size, String.format("%.1f", micros)));
+
+        double smallest = microsPerLookup.get(TENANT_SIZES[0]);
+        double largest = microsPerLookup.get(TENANT_SIZES[TENANT_SIZES.length - 1]);
+        // 1000x mais linhas: uma varredura seria ~1000x mais lenta; o índice fica na mesma ordem
+        assertThat(largest).isLessThan(smallest * 10);
+    }
+
+    private void lookups(int size, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            assertThat(repository.findByUsernameIgnoreCase("User" + random.nextInt(size))).isPresent();
+        }
+    }
+
+    private void insertUsers(String tenant, int size, long firstId) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < size; i++) {
+            batch.add(new Object[] {firstId + i, "user" + i, "user" + i, "hash", tenant});
+            if (batch.size() == INSERT_BATCH || i == size - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into users (id, username, username_normalized, password, tenant) values (?, ?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+}
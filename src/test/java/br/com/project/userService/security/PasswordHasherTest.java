@@ -0,0 +1,143 @@
+package br.com.project.userService.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.project.userService.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pool de hash saturado: 1 thread e nenhuma fila, ocupada por uma tarefa
+ * presa até o fim de cada teste.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "user-service.hashing.bcrypt-strength=4",
+    "user-service.hashing.threads=1",
+    "user-service.hashing.queue-capacity=0",
+    "user-service.hashing.retry-after=2s"
+})
+class PasswordHasherTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordHasher hasher;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolExecutor executor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void poolHasOneThreadAndNoQueue() {
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(1);
+        assertThat(executor.getQueue().remainingCapacity()).isZero();
+    }
+
+    @Test
+    void saturatedPoolRejectsWithoutWaiting() throws Exception {
+        CountDownLatch release = occupy();
+        double before = rejected();
+        try {
+            assertThatThrownBy(() -> hasher.hash("secret"))
+                    .isInstanceOf(HashingCapacityExceededException.class)
+                    .extracting(e -> ((HashingCapacityExceededException) e).getRetryAfter())
+                    .isEqualTo(Duration.ofSeconds(2));
+            // O lote não tem nada seu em andamento para esperar: recusa também
+            assertThatThrownBy(() -> hasher.hashAll(List.of("a", "b")))
+                    .isInstanceOf(HashingCapacityExceededException.class);
+            assertThat(rejected()).isEqualTo(before + 2);
+        } finally {
+            release.countDown();
+        }
+        assertThat(awaitHash()).startsWith("$2");
+    }
+
+    @Test
+    void saturatedPoolAnswers429WithRetryAfter() throws Exception {
+        String tenant = "hash-" + System.nanoTime();
+        CountDownLatch release = occupy();
+        double before = rejected();
+        try {
+            MockHttpServletResponse response = create(tenant, "hash-busy");
+
+            assertThat(response.getStatus()).isEqualTo(429);
+            assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+            assertThat(rejected()).isEqualTo(before + 1);
+        } finally {
+            release.countDown();
+        }
+        assertThat(awaitHash()).startsWith("$2");
+    }
+
+    // Ocupa a única thread do pool até o latch ser liberado
+    private CountDownLatch occupy() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable task = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        while (true) {
+            try {
+                executor.execute(task);
+                break;
+            } catch (RejectedExecutionException e) {
+                // A tarefa do teste anterior acabou de terminar
+                Thread.sleep(10);
+            }
+        }
+        started.await();
+        return release;
+    }
+
+    // Sem fila, a thread só volta a aceitar tarefas quando passa a aguardar a próxima
+    private String awaitHash() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (true) {
+            try {
+                return hasher.hash("secret");
+            } catch (HashingCapacityExceededException e) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private double rejected() {
+        return registry.get("user.password.hash.rejected").counter().count();
+    }
+
+    private MockHttpServletResponse create(String tenant, String username) throws Exception {
+        return mockMvc.perform(post("/userService/users")
+                        .header("x-tenant", tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}"))
+                .andReturn().getResponse();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.project.userService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.project.userService.dto.ChangesDTO;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Sincronização incremental (GET /changes) e GET condicional por ETag.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "user-service.changes.settle-time=0s",
+    "user-service.hashing.bcrypt-strength=4"
+})
+class UserChangesTest {
+
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void changesReturnOnlyWhatHappenedSinceTheWatermark() {
+        TenantContext.runAs("changes-" + System.nanoTime(), () -> {
+            UserDTO kept = service.create(user("kept"));
+            UserDTO removed = service.create(user("removed"));
+
+            ChangesDTO initial = service.findChanges(null, 100);
+            assertThat(initial.upserts()).extracting(UserDTO::getId).containsExactly(kept.getId(), removed.getId());
+            assertThat(initial.hasMore()).isFalse();
+
+            ChangesDTO idle = service.findChanges(initial.watermark(), 100);
+            assertThat(idle.upserts()).isEmpty();
+            assertThat(idle.deletes()).isEmpty();
+
+            service.patch(kept.getId(), user("kept-renamed"));
+            service.delete(removed.getId());
+            UserDTO added = service.create(user("added"));
+
+            ChangesDTO delta = service.findChanges(idle.watermark(), 100);
+            assertThat(delta.upserts()).extracting(UserDTO::getUsername).containsExactly("kept-renamed", "added");
+            assertThat(delta.upserts().getFirst().getVersion()).isEqualTo(1L);
+            assertThat(delta.deletes()).containsExactly(removed.getId());
+
+            // Limite menor que o número de alterações: continua de onde parou
+            ChangesDTO first = service.findChanges(idle.watermark(), 2);
+            assertThat(first.hasMore()).isTrue();
+            ChangesDTO rest = service.findChanges(first.watermark(), 2);
+            assertThat(rest.upserts()).extracting(UserDTO::getId).containsExactly(added.getId());
+            assertThat(rest.hasMore()).isFalse();
+        });
+    }
+
+    @Test
+    void getByIdHonoursIfNoneMatch() throws Exception {
+        String tenant = "etag-" + System.nanoTime();
+        UserDTO created = TenantContext.callAs(tenant, () -> service.create(user("etag")));
+        String path = "/userService/users/" + created.getId();
+
+        String etag = mockMvc.perform(get(path).header("x-tenant", tenant))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(path).header("x-tenant", tenant).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        TenantContext.runAs(tenant, () -> service.patch(created.getId(), user("etag-changed")));
+        mockMvc.perform(get(path).header("x-tenant", tenant).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(List.of("ROLE_USER"));
+        return dto;
+    }
+}
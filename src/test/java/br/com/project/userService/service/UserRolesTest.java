@@ -0,0 +1,134 @@
+package br.com.project.userService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.project.userService.dto.PageDTO;
+import br.com.project.userService.dto.RoleChangeDTO;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Roles codificados pelo dicionário do tenant: ida e volta pela máscara,
+ * filtro de usuários por role e concessão/revogação em massa.
+ */
+@SpringBootTest(properties = "user-service.hashing.bcrypt-strength=4")
+class UserRolesTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rolesRoundTripThroughTheTenantDictionary() {
+        String tenant = "roles-" + System.nanoTime();
+        TenantContext.runAs(tenant, () -> {
+            UserDTO admin = service.create(user("admin", List.of("ROLE_USER", "ROLE_ADMIN")));
+            UserDTO plain = service.create(user("plain", List.of("ROLE_USER")));
+
+            assertThat(service.findById(admin.getId()).getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+            assertThat(service.findById(plain.getId()).getRoles()).containsExactly("ROLE_USER");
+
+            service.patch(plain.getId(), user(null, List.of("ROLE_AUDITOR")));
+            assertThat(service.findById(plain.getId()).getRoles()).containsExactly("ROLE_AUDITOR");
+        });
+
+        // Um bit por role, na ordem em que o tenant os conheceu
+        assertThat(jdbcTemplate.queryForList("select name from role_names where tenant = ? order by bit", String.class, tenant))
+                .containsExactly("ROLE_USER", "ROLE_ADMIN", "ROLE_AUDITOR");
+    }
+
+    @Test
+    void staleCachedRolesDoNotSkipTheRoleRewrite() {
+        String tenant = "roles-stale-" + System.nanoTime();
+        UserDTO user = TenantContext.callAs(tenant, () -> {
+            UserDTO created = service.create(user("stale", List.of("ROLE_USER")));
+            service.create(user("other", List.of("ROLE_ADMIN")));
+            // Deixa ROLE_USER no cache de leitura
+            assertThat(service.findById(created.getId()).getRoles()).containsExactly("ROLE_USER");
+            return created;
+        });
+        long userMask = roleMask(user.getId());
+        // Outra instância troca os roles sem passar por este cache
+        jdbcTemplate.update("update users set role_mask = ? where id = ?", userMask << 1, user.getId());
+
+        // O pedido coincide com o DTO do cache, mas não com o banco
+        TenantContext.runAs(tenant, () -> service.update(user.getId(), user("stale", List.of("ROLE_USER"))));
+
+        assertThat(roleMask(user.getId())).isEqualTo(userMask);
+        TenantContext.runAs(tenant, () ->
+                assertThat(service.findById(user.getId()).getRoles()).containsExactly("ROLE_USER"));
+    }
+
+    @Test
+    void pageCanBeFilteredByRole() {
+        String tenant = "roles-filter-" + System.nanoTime();
+        TenantContext.runAs(tenant, () -> {
+            UserDTO first = service.create(user("first", List.of("ROLE_ADMIN")));
+            service.create(user("second", List.of("ROLE_USER")));
+            UserDTO third = service.create(user("third", List.of("ROLE_USER", "ROLE_ADMIN")));
+
+            PageDTO<UserDTO> page = service.findPage(null, 1, "ROLE_ADMIN");
+            assertThat(page.items()).extracting(UserDTO::getId).containsExactly(first.getId());
+            PageDTO<UserDTO> next = service.findPage(page.nextCursor(), 10, "ROLE_ADMIN");
+            assertThat(next.items()).extracting(UserDTO::getId).containsExactly(third.getId());
+
+            assertThat(service.findPage(null, 10, "ROLE_UNKNOWN").items()).isEmpty();
+        });
+        // O role existe em outro tenant, mas não neste
+        TenantContext.runAs("roles-other-" + System.nanoTime(),
+                () -> assertThat(service.findPage(null, 10, "ROLE_ADMIN").items()).isEmpty());
+    }
+
+    @Test
+    void rolesAreGrantedAndRevokedInBulkForAFilter() {
+        TenantContext.runAs("roles-bulk-" + System.nanoTime(), () -> {
+            UserDTO first = service.create(user("ana.1", List.of("ROLE_USER")));
+            UserDTO second = service.create(user("Ana.2", List.of("ROLE_USER")));
+            UserDTO other = service.create(user("anabel", List.of("ROLE_USER", "ROLE_ADMIN")));
+            service.findById(first.getId());
+
+            // Prefixo sem diferenciar maiúsculas; quem já tem o role não conta
+            assertThat(service.grantRole(new RoleChangeDTO("ROLE_AUDITOR", null, "ANA.", null))).isEqualTo(2);
+            assertThat(service.grantRole(new RoleChangeDTO("ROLE_AUDITOR", null, "ana.", null))).isZero();
+            // O cache do usuário lido antes foi invalidado
+            UserDTO granted = service.findById(first.getId());
+            assertThat(granted.getRoles()).containsExactly("ROLE_USER", "ROLE_AUDITOR");
+            assertThat(granted.getVersion()).isEqualTo(1L);
+            assertThat(service.findById(other.getId()).getRoles()).doesNotContain("ROLE_AUDITOR");
+
+            // Curingas do LIKE no prefixo valem literalmente
+            assertThat(service.grantRole(new RoleChangeDTO("ROLE_X", null, "ana%", null))).isZero();
+
+            assertThat(service.revokeRole(new RoleChangeDTO("ROLE_USER", null, null, "ROLE_ADMIN"))).isEqualTo(1);
+            assertThat(service.findById(other.getId()).getRoles()).containsExactly("ROLE_ADMIN");
+
+            assertThat(service.grantRole(new RoleChangeDTO("ROLE_ADMIN", List.of(second.getId(), other.getId()), null, null)))
+                    .isEqualTo(1);
+            assertThat(service.findPage(null, 10, "ROLE_ADMIN").items()).extracting(UserDTO::getId)
+                    .containsExactly(second.getId(), other.getId());
+
+            assertThat(service.revokeRole(new RoleChangeDTO("ROLE_UNKNOWN", null, "a", null))).isZero();
+        });
+    }
+
+    private long roleMask(long id) {
+        return jdbcTemplate.queryForObject("select role_mask from users where id = ?", Long.class, id);
+    }
+
+    private static UserDTO user(String username, List<String> roles) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(roles);
+        return dto;
+    }
+}
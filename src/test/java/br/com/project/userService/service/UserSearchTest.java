@@ -0,0 +1,95 @@
+package br.com.project.userService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.project.userService.cache.RoleDictionary;
+import br.com.project.userService.common.Usernames;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.tenant.TenantContext;
+
+/**
+ * Busca por prefixo de username (GET /search).
+ */
+@SpringBootTest(properties = "user-service.hashing.bcrypt-strength=4")
+class UserSearchTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private RoleDictionary roleDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchMatchesPrefixIgnoringCaseInUsernameOrder() {
+        TenantContext.runAs("search-" + System.nanoTime(), () -> {
+            for (String name : List.of("maria.b", "Maria.A", "mario", "mar_x", "marcos", "ana")) {
+                service.create(user(name, Usernames.normalize(name).startsWith("mari") ? List.of("ROLE_USER") : List.of("ROLE_ADMIN")));
+            }
+
+            assertThat(names(service.search("MARI", null, 10))).containsExactly("Maria.A", "maria.b", "mario");
+            assertThat(names(service.search("mari", null, 2))).containsExactly("Maria.A", "maria.b");
+            // "_" é literal, não curinga
+            assertThat(names(service.search("mar_", null, 10))).containsExactly("mar_x");
+            assertThat(names(service.search("mar", "ROLE_ADMIN", 10))).containsExactly("mar_x", "marcos");
+            assertThat(service.search("mar", "ROLE_UNKNOWN", 10)).isEmpty();
+            assertThat(service.search("", null, 100)).hasSize(6);
+        });
+    }
+
+    @Test
+    void roleSearchScansInChunksUpToTheBound() {
+        String tenant = "search-scan-" + System.nanoTime();
+        long admin = TenantContext.callAs(tenant, () -> {
+            service.create(user("admin", List.of("ROLE_USER", "ROLE_ADMIN")));
+            return roleDictionary.maskOf("ROLE_ADMIN");
+        });
+        long plain = TenantContext.callAs(tenant, () -> roleDictionary.maskOf("ROLE_USER"));
+        List<Object[]> rows = new ArrayList<>();
+        long firstId = 5_000_000_000L;
+        for (int i = 0; i < 12_000; i++) {
+            String name = String.format("user-%05d", i);
+            long mask = i == 500 || i == 1500 || i == 11_000 ? admin : plain;
+            rows.add(new Object[] {firstId + i, name, name, "hash", mask, tenant});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into users (id, username, username_normalized, password, role_mask, tenant) values (?, ?, ?, ?, ?, ?)",
+                rows);
+
+        TenantContext.runAs(tenant, () -> {
+            // O segundo acerto está no segundo bloco; o terceiro, além do limite de linhas examinadas
+            assertThat(names(service.search("user-", "ROLE_ADMIN", 10))).containsExactly("user-00500", "user-01500");
+            assertThat(names(service.search("user-11", "ROLE_ADMIN", 10))).containsExactly("user-11000");
+            assertThat(names(service.search("user-", "ROLE_ADMIN", 1))).containsExactly("user-00500");
+        });
+    }
+
+    @Test
+    void upperBoundClosesThePrefixRange() {
+        assertThat(Usernames.prefixUpperBound("abc")).isEqualTo("abd");
+        assertThat(Usernames.prefixUpperBound("a" + Character.MAX_VALUE)).isEqualTo("b");
+        assertThat(Usernames.prefixUpperBound("")).isEqualTo(String.valueOf(Character.MAX_VALUE));
+    }
+
+    private static List<String> names(List<UserDTO> users) {
+        return users.stream().map(UserDTO::getUsername).toList();
+    }
+
+    private static UserDTO user(String username, List<String> roles) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(roles);
+        return dto;
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.project.userService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.project.userService.cache.RoleDictionary;
+import br.com.project.userService.domain.UserEntity;
+import br.com.project.userService.dto.PageDTO;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.repository.UserRepository;
+import br.com.project.userService.tenant.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Garante que a listagem não volte a disparar uma consulta por usuário (N+1)
+ * ao carregar os roles.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // As estatísticas são globais: o relay do outbox não pode consultar no meio da contagem
+    "user-service.feed.relay-enabled=false"
+})
+class UserServiceQueryCountTest {
+
+    private static final String TENANT = "query-count";
+    private static final int USERS = 1000;
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Autowired
+    private RoleDictionary roleDictionary;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TenantContext.runAs(TENANT, this::insertUsers);
+        statistics.clear();
+    }
+
+    private void insertUsers() {
+        // Também deixa o dicionário do tenant em memória antes da contagem
+        long roles = roleDictionary.encode(List.of("ROLE_A", "ROLE_B"));
+        if (repository.count() == 0) {
+            List<UserEntity> users = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                UserEntity user = new UserEntity();
+                user.setUsername("user" + i);
+                user.setUsernameNormalized("user" + i);
+                user.setPassword("hash");
+                user.setRoleMask(roles);
+                users.add(user);
+            }
+            repository.saveAll(users);
+        }
+    }
+
+    @Test
+    void pageOfThousandUsersUsesFixedNumberOfStatements() {
+        PageDTO<UserDTO> page = TenantContext.callAs(TENANT, () -> service.findPage(null, USERS));
+
+        assertThat(page.items()).hasSize(USERS);
+        assertThat(page.items()).allSatisfy(u -> assertThat(u.getRoles()).containsExactly("ROLE_A", "ROLE_B"));
+        // Só o select da página: os roles vêm da máscara de cada linha
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByIdWithoutRolesIsSingleStatement() {
+        long id = TenantContext.callAs(TENANT, () -> service.findPage(null, 1)).items().getFirst().getId();
+        statistics.clear();
+
+        UserDTO found = TenantContext.callAs(TENANT, () -> service.findById(id, false));
+
+        assertThat(found.getRoles()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.project.userService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.project.userService.cache.RoleDictionary;
+import br.com.project.userService.domain.UserEntity;
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.exception.RecordNotFoundException;
+import br.com.project.userService.repository.UserRepository;
+import br.com.project.userService.tenant.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conta os comandos SQL de update, patch e delete (o PUT também registra,
+ * no log, o fluxo antigo de carregar a entidade e salvá-la).
+ */
+@Slf4j
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // As estatísticas são globais: o relay do outbox não pode consultar no meio da contagem
+    "user-service.feed.relay-enabled=false"
+})
+class UserServiceRoundTripTest {
+
+    private static final String TENANT = "round-trip";
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private long id;
+
+    @Autowired
+    private RoleDictionary roleDictionary;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        id = TenantContext.callAs(TENANT, () -> {
+            UserEntity user = new UserEntity();
+            user.setUsername("user" + System.nanoTime());
+            user.setUsernameNormalized(user.getUsername());
+            user.setPassword("hash");
+            // Registra antes da contagem os roles usados pelos testes
+            roleDictionary.encode(List.of("ROLE_A", "ROLE_B", "ROLE_C"));
+            user.setRoleMask(roleDictionary.encode(List.of("ROLE_A")));
+            return repository.save(user).getId();
+        });
+        statistics.clear();
+    }
+
+    @Test
+    void updateWritesWithoutLoadingFirstAndReturnsTheStoredRow() {
+        TenantContext.runAs(TENANT, () -> transactionTemplate.executeWithoutResult(status -> {
+            UserEntity target = repository.findById(id).orElseThrow();
+            target.setUsername(target.getUsername() + "-legacy");
+            target.setUsernameNormalized(target.getUsername());
+            target.setRoleMask(roleDictionary.encode(List.of("ROLE_B")));
+            repository.save(target);
+        }));
+        long legacy = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        UserDTO updated = TenantContext.callAs(TENANT,
+                () -> service.update(id, user("renamed" + id, List.of("ROLE_C", "ROLE_A", "ROLE_C"))));
+        long current = statistics.getPrepareStatementCount();
+
+        log.info("PUT: carregar e salvar = {} comandos; UPDATE direto = {} comandos", legacy, current);
+        // UPDATE (username e máscara de roles) + INSERT no outbox + SELECT da
+        // linha devolvida, depois da escrita
+        assertThat(current).isEqualTo(3);
+        // A resposta é o que ficou gravado: nova versão e roles na ordem dos bits
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThat(updated.getRoles()).containsExactly("ROLE_A", "ROLE_C");
+        assertThat(roles()).containsExactly("ROLE_A", "ROLE_C");
+    }
+
+    @Test
+    void patchWithoutRolesKeepsTheRoleMask() {
+        TenantContext.runAs(TENANT, () -> service.patch(id, user("patched" + id, null)));
+
+        // UPDATE + INSERT no outbox
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(roles()).containsExactly("ROLE_A");
+    }
+
+    @Test
+    void deleteRemovesUserAndLeavesTombstone() {
+        TenantContext.runAs(TENANT, () -> service.delete(id));
+
+        // DELETE + INSERT da lápide (GET /changes) + INSERT no outbox
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(roles()).isEmpty();
+    }
+
+    @Test
+    void otherTenantGetsNotFoundFromAffectedRowCount() {
+        assertThatThrownBy(() -> TenantContext.runAs("another-tenant", () -> service.patch(id, user("x" + id, null))))
+                .isInstanceOf(RecordNotFoundException.class);
+        assertThatThrownBy(() -> TenantContext.runAs("another-tenant", () -> service.delete(id)))
+                .isInstanceOf(RecordNotFoundException.class);
+        assertThat(roles()).containsExactly("ROLE_A");
+    }
+
+    private UserDTO user(String username, List<String> roles) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setRoles(roles);
+        return dto;
+    }
+
+    private List<String> roles() {
+        return TenantContext.callAs(TENANT, () -> jdbcTemplate
+                .queryForList("select role_mask from users where id = ?", Long.class, id).stream()
+                .flatMap(mask -> roleDictionary.decode(mask).stream())
+                .toList());
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.project.userService.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dispara milhares de requisições intercaladas de vários tenants e confere
+ * que nenhuma resposta traz dados de outro tenant. Cada subclasse sobe a
+ * aplicação em um modo de threads e registra a vazão obtida.
+ */
+@Slf4j
+abstract class AbstractTenantIsolationTest {
+
+    private static final int TENANTS = 20;
+    private static final int USERS_PER_TENANT = 5;
+    private static final int REQUESTS = 4_000;
+    private static final int CLIENT_CONCURRENCY = 200;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    protected abstract String mode();
+
+    @Test
+    void concurrentRequestsNeverSeeAnotherTenantsData() throws Exception {
+        String run = mode() + "-" + System.nanoTime();
+        Map<Long, String> owners = new ConcurrentHashMap<>();
+        for (int t = 0; t < TENANTS; t++) {
+            for (int u = 0; u < USERS_PER_TENANT; u++) {
+                String tenant = run + "-t" + t;
+                JsonNode created = send("POST", "", tenant, userJson(tenant + "-seed" + u), 201);
+                owners.put(created.get("id").asLong(), tenant);
+            }
+        }
+        List<Long> ids = new ArrayList<>(owners.keySet());
+
+        AtomicInteger created = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENT_CONCURRENCY, Thread.ofVirtual().factory())) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                int n = i;
+                futures.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    String tenant = run + "-t" + random.nextInt(TENANTS);
+                    switch (n % 10) {
+                        case 0 -> {
+                            JsonNode user = send("POST", "", tenant, userJson(tenant + "-u" + n), 201);
+                            assertThat(user.get("username").asText()).startsWith(tenant + "-");
+                            created.incrementAndGet();
+                        }
+                        case 1, 2 -> {
+                            JsonNode page = send("GET", "?limit=50", tenant, null, 200);
+                            page.get("items").forEach(item ->
+                                    assertThat(item.get("username").asText()).startsWith(tenant + "-"));
+                        }
+                        default -> {
+                            long id = ids.get(random.nextInt(ids.size()));
+                            if (owners.get(id).equals(tenant)) {
+                                JsonNode user = send("GET", "/" + id, tenant, null, 200);
+                                assertThat(user.get("username").asText()).startsWith(tenant + "-");
+                            } else {
+                                assertThat(status("GET", "/" + id, tenant)).isNotEqualTo(200);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        log.info("Isolamento de tenants [{}]: {} requisições em {} s -> {} req/s ({} criações)",
+                mode(), REQUESTS, String.format("%.2f", seconds), String.format("%.0f", REQUESTS / seconds), created.get());
+    }
+
+    private String userJson(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"secret\",\"roles\":[\"ROLE_USER\"]}";
+    }
+
+    private JsonNode send(String method, String path, String tenant, String body, int expectedStatus) throws Exception {
+        HttpResponse<String> response = http.send(request(method, path, tenant, body), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("%s %s -> %s", method, path, response.body()).isEqualTo(expectedStatus);
+        return mapper.readTree(response.body());
+    }
+
+    private int status(String method, String path, String tenant) throws Exception {
+        return http.send(request(method, path, tenant, null), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest request(String method, String path, String tenant, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/userService/users" + path))
+                .header("x-tenant", tenant)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.project.userService.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.project.userService.dto.UserDTO;
+import br.com.project.userService.service.TombstonePurgeJob;
+import br.com.project.userService.service.UserService;
+
+/**
+ * Modo database: cada tenant grava na própria base H2, criada e migrada no
+ * primeiro acesso; a base padrão não recebe linhas dos tenants.
+ */
+@SpringBootTest(properties = {
+        "user-service.tenancy.mode=database",
+        "user-service.tenancy.url-template=jdbc:h2:mem:db_per_tenant_{tenant};DB_CLOSE_DELAY=-1",
+        "user-service.tenancy.idle-pool-timeout=1ms",
+        "spring.datasource.url=jdbc:h2:mem:db_per_tenant_default",
+        "user-service.feed.relay-enabled=false",
+        "user-service.hashing.bcrypt-strength=4" })
+class DatabasePerTenantTest {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private TenantConnectionProvider connectionProvider;
+
+    @Autowired
+    private TombstonePurgeJob purgeJob;
+
+    @Test
+    void eachTenantWritesToItsOwnDatabase() throws Exception {
+        long alphaId = TenantContext.callAs("alpha", () -> service.create(user("ana")).getId());
+        TenantContext.callAs("beta", () -> service.create(user("bruno")));
+        TenantContext.callAs("beta", () -> service.create(user("ana")));
+
+        assertThat(count("db_per_tenant_alpha")).isEqualTo(1);
+        assertThat(count("db_per_tenant_beta")).isEqualTo(2);
+        assertThat(count("db_per_tenant_default")).isZero();
+        // Sem relay nesse modo: o outbox não é gravado (nem cresceria sem limpeza)
+        assertThat(query("db_per_tenant_beta", "select count(*) from user_outbox")).isZero();
+
+        // Pool ocioso é fechado; o próximo acesso recria e enxerga os mesmos dados
+        connectionProvider.evictIdlePools();
+        assertThat(connectionProvider.openPools()).isZero();
+        UserDTO found = TenantContext.callAs("alpha", () -> service.findById(alphaId, true));
+        assertThat(found.getUsername()).isEqualTo("ana");
+        assertThat(connectionProvider.openPools()).isEqualTo(1);
+    }
+
+    @Test
+    void tombstonePurgeReachesEachTenantDatabase() throws Exception {
+        long gammaId = TenantContext.callAs("gamma", () -> service.create(user("gil")).getId());
+        TenantContext.runAs("gamma", () -> service.delete(gammaId));
+        // Lápide expirada, gravada direto na base do tenant
+        execute("db_per_tenant_gamma", "insert into user_tombstones (user_id, tenant, deleted_at)"
+                + " values (-1, 'gamma', timestamp with time zone '2000-01-01 00:00:00+00')");
+        // O pool ocioso já foi fechado: a limpeza ainda passa pela base
+        connectionProvider.evictIdlePools();
+
+        purgeJob.purge();
+
+        assertThat(query("db_per_tenant_gamma", "select count(*) from user_tombstones")).isEqualTo(1);
+        assertThat(query("db_per_tenant_gamma", "select count(*) from user_tombstones where user_id = -1")).isZero();
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setPassword("secret");
+        dto.setRoles(List.of("ROLE_USER"));
+        return dto;
+    }
+
+    private static long count(String database) throws SQLException {
+        return query(database, "select count(*) from users");
+    }
+
+    private static long query(String database, String sql) throws SQLException {
+        try (Connection connection = connect(database);
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void execute(String database, String sql) throws SQLException {
+        try (Connection connection = connect(database);
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static Connection connect(String database) throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:mem:" + database + ";IFEXISTS=TRUE", "sa", "");
+    }
+}
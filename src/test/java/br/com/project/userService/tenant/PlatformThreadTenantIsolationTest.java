@@ -0,0 +1,18 @@
+package br.com.project.userService.tenant;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=false",
+    "user-service.hashing.bcrypt-strength=4",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.orm.jdbc.bind=INFO"
+})
+class PlatformThreadTenantIsolationTest extends AbstractTenantIsolationTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
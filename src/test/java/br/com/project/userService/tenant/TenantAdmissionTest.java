@@ -0,0 +1,99 @@
+package br.com.project.userService.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.project.userService.config.RateLimitProperties;
+import br.com.project.userService.config.TenancyProperties;
+import br.com.project.userService.config.UserMetricsProperties;
+import br.com.project.userService.metrics.UserMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TenantAdmissionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final TenantAdmission admission = admission(10_000, TenancyProperties.Mode.DISCRIMINATOR);
+
+    @Test
+    void writesAreLimitedSeparatelyFromReadsWithRetryAfter() {
+        admission.admit("small", "POST").close();
+
+        TenantAdmission.Admission rejected = admission.admit("small", "PUT");
+        assertThat(rejected.admitted()).isFalse();
+        assertThat(rejected.rejection()).isEqualTo("rate");
+        assertThat(rejected.retryAfterSeconds()).isBetween(1L, 2L);
+
+        // O bucket de leituras continua cheio
+        for (int i = 0; i < 3; i++) {
+            try (TenantAdmission.Admission read = admission.admit("small", "GET")) {
+                assertThat(read.admitted()).isTrue();
+            }
+        }
+        assertThat(admission.admit("small", "GET").admitted()).isFalse();
+        // Outros tenants não são afetados
+        assertThat(admission.admit("other", "POST").admitted()).isTrue();
+
+        assertThat(registry.get(UserMetrics.REJECTIONS).tags("tenant", "small", "class", "write", "reason", "rate")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.get(UserMetrics.REJECTIONS).tags("tenant", "small", "class", "read", "reason", "rate")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrencyLimitIsReleasedWhenTheRequestEnds() {
+        TenantAdmission.Admission first = admission.admit("small", "GET");
+        TenantAdmission.Admission second = admission.admit("small", "GET");
+
+        TenantAdmission.Admission third = admission.admit("small", "GET");
+        assertThat(third.admitted()).isFalse();
+        assertThat(third.rejection()).isEqualTo("concurrency");
+
+        first.close();
+        assertThat(admission.admit("small", "GET").admitted()).isTrue();
+        second.close();
+    }
+
+    @Test
+    void trackedTenantsAreBounded() {
+        TenantAdmission bounded = admission(100, TenancyProperties.Mode.DISCRIMINATOR);
+
+        for (int i = 0; i < 1000; i++) {
+            bounded.admit("tenant-" + i, "GET").close();
+        }
+
+        assertThat(bounded.trackedTenants()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void tenantFormatIsValidated() {
+        assertThat(admission.isValidTenant("acme-01.prod")).isTrue();
+        assertThat(admission.isValidTenant("acme;DB_CLOSE_DELAY=0")).isFalse();
+        assertThat(admission.isValidTenant("-acme")).isFalse();
+        assertThat(admission.isValidTenant("a".repeat(65))).isFalse();
+    }
+
+    @Test
+    void databaseModeOnlyAcceptsTenantsThatFitTheJdbcUrl() {
+        TenantAdmission database = admission(10_000, TenancyProperties.Mode.DATABASE);
+
+        assertThat(database.isValidTenant("acme-01_prod")).isTrue();
+        assertThat(database.isValidTenant("acme.prod")).isFalse();
+        assertThat(database.isValidTenant("-acme")).isFalse();
+    }
+
+    private TenantAdmission admission(long maxTenants, TenancyProperties.Mode mode) {
+        return new TenantAdmission(new RateLimitProperties(true,
+                "[A-Za-z0-9][A-Za-z0-9._-]{0,63}",
+                new RateLimitProperties.Limits(1000, 2000, 100, 200, 64),
+                Map.of("small", new RateLimitProperties.Limits(1, 3, 0.5, 1, 2)),
+                Duration.ofMinutes(10),
+                maxTenants),
+                new TenancyProperties(mode, "jdbc:h2:mem:tenant_{tenant}", null, "sa", "", 5, null, Duration.ofMinutes(10)),
+                new UserMetrics(registry, new UserMetricsProperties(100)));
+    }
+}